@@ -0,0 +1,405 @@
+package info.kgeorgiy.ja.serov.arrayset;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.SortedSet;
+import java.util.Spliterator;
+
+public class ArrayMap<K, V> extends AbstractMap<K, V> implements NavigableMap<K, V> {
+
+    private final List<K> keys;
+    private final List<V> values;
+    private final Comparator<? super K> comparator;
+
+    public ArrayMap() {
+        this(Map.of());
+    }
+
+    public ArrayMap(final Map<? extends K, ? extends V> map) {
+        this(map, null);
+    }
+
+    public ArrayMap(final Map<? extends K, ? extends V> map, final Comparator<? super K> comparator) {
+        this(sortedEntries(map, comparator), comparator);
+    }
+
+    // entries of a sorted map with the same comparator are already sorted and distinct
+    private static <K, V> Collection<? extends Map.Entry<? extends K, ? extends V>> sortedEntries(
+        final Map<? extends K, ? extends V> map,
+        final Comparator<? super K> comparator
+    ) {
+        if (map instanceof final SortedMap<?, ?> sortedMap && Objects.equals(sortedMap.comparator(), comparator)) {
+            return map.entrySet();
+        }
+        return Utils.toSortedDistinctList(
+            map.entrySet(),
+            Comparator.comparing(Map.Entry::getKey, Utils.orderOf(comparator))
+        );
+    }
+
+    @SuppressWarnings("unchecked")
+    private ArrayMap(
+        final Collection<? extends Map.Entry<? extends K, ? extends V>> entries,
+        final Comparator<? super K> comparator
+    ) {
+        final Object[] keys = new Object[entries.size()];
+        final Object[] values = new Object[entries.size()];
+        int i = 0;
+        for (final Map.Entry<? extends K, ? extends V> entry : entries) {
+            keys[i] = entry.getKey();
+            values[i] = entry.getValue();
+            i++;
+        }
+        this.keys = Collections.unmodifiableList(Arrays.asList((K[]) keys));
+        this.values = Collections.unmodifiableList(Arrays.asList((V[]) values));
+        this.comparator = comparator;
+    }
+
+    private ArrayMap(final List<K> keys, final List<V> values, final Comparator<? super K> comparator) {
+        this.keys = keys;
+        this.values = values;
+        this.comparator = comparator;
+    }
+
+    @Override
+    public Comparator<? super K> comparator() {
+        return comparator;
+    }
+
+    @SuppressWarnings("unchecked")
+    private int binarySearch(final Object key) {
+        return Collections.binarySearch(keys, (K) key, comparator);
+    }
+
+    // index of the greatest key less than (or equal to) the given one, -1 if none
+    private int lowerIndex(final K key, final boolean inclusive) {
+        final int index = binarySearch(key);
+        return index >= 0 ? (inclusive ? index : index - 1) : -index - 2;
+    }
+
+    // index of the least key greater than (or equal to) the given one, size() if none
+    private int higherIndex(final K key, final boolean inclusive) {
+        final int index = binarySearch(key);
+        return index >= 0 ? (inclusive ? index : index + 1) : -index - 1;
+    }
+
+    private Map.Entry<K, V> entry(final int index) {
+        return 0 <= index && index < size()
+            ? new AbstractMap.SimpleImmutableEntry<>(keys.get(index), values.get(index))
+            : null;
+    }
+
+    private K key(final int index) {
+        return 0 <= index && index < size() ? keys.get(index) : null;
+    }
+
+    private NavigableMap<K, V> subMap(final int fromIndex, final int toIndex) {
+        final int to = Math.max(fromIndex, toIndex);
+        return new ArrayMap<>(keys.subList(fromIndex, to), values.subList(fromIndex, to), comparator);
+    }
+
+    @Override
+    public int size() {
+        return keys.size();
+    }
+
+    @Override
+    public boolean containsKey(final Object key) {
+        return binarySearch(key) >= 0;
+    }
+
+    @Override
+    public V get(final Object key) {
+        final int index = binarySearch(key);
+        return index >= 0 ? values.get(index) : null;
+    }
+
+    @Override
+    public K firstKey() {
+        return keys.getFirst();
+    }
+
+    @Override
+    public K lastKey() {
+        return keys.getLast();
+    }
+
+    @Override
+    public Map.Entry<K, V> firstEntry() {
+        return entry(0);
+    }
+
+    @Override
+    public Map.Entry<K, V> lastEntry() {
+        return entry(size() - 1);
+    }
+
+    @Override
+    public Map.Entry<K, V> pollFirstEntry() {
+        throw new UnsupportedOperationException("ArrayMap is immutable");
+    }
+
+    @Override
+    public Map.Entry<K, V> pollLastEntry() {
+        throw new UnsupportedOperationException("ArrayMap is immutable");
+    }
+
+    @Override
+    public Map.Entry<K, V> lowerEntry(final K key) {
+        return entry(lowerIndex(key, false));
+    }
+
+    @Override
+    public K lowerKey(final K key) {
+        return key(lowerIndex(key, false));
+    }
+
+    @Override
+    public Map.Entry<K, V> floorEntry(final K key) {
+        return entry(lowerIndex(key, true));
+    }
+
+    @Override
+    public K floorKey(final K key) {
+        return key(lowerIndex(key, true));
+    }
+
+    @Override
+    public Map.Entry<K, V> ceilingEntry(final K key) {
+        return entry(higherIndex(key, true));
+    }
+
+    @Override
+    public K ceilingKey(final K key) {
+        return key(higherIndex(key, true));
+    }
+
+    @Override
+    public Map.Entry<K, V> higherEntry(final K key) {
+        return entry(higherIndex(key, false));
+    }
+
+    @Override
+    public K higherKey(final K key) {
+        return key(higherIndex(key, false));
+    }
+
+    @Override
+    public NavigableMap<K, V> descendingMap() {
+        return new ArrayMap<>(keys.reversed(), values.reversed(), Collections.reverseOrder(comparator));
+    }
+
+    @Override
+    public NavigableSet<K> navigableKeySet() {
+        return new KeySet();
+    }
+
+    @Override
+    public NavigableSet<K> descendingKeySet() {
+        return descendingMap().navigableKeySet();
+    }
+
+    @Override
+    public NavigableSet<K> keySet() {
+        return navigableKeySet();
+    }
+
+    @Override
+    public Collection<V> values() {
+        return values;
+    }
+
+    @Override
+    public Set<Map.Entry<K, V>> entrySet() {
+        return new AbstractSet<>() {
+            @Override
+            public Iterator<Map.Entry<K, V>> iterator() {
+                return new Iterator<>() {
+                    private int index;
+
+                    @Override
+                    public boolean hasNext() {
+                        return index < size();
+                    }
+
+                    @Override
+                    public Map.Entry<K, V> next() {
+                        if (!hasNext()) {
+                            throw new NoSuchElementException();
+                        }
+                        return entry(index++);
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return ArrayMap.this.size();
+            }
+        };
+    }
+
+    @Override
+    public NavigableMap<K, V> subMap(
+        final K fromKey,
+        final boolean fromInclusive,
+        final K toKey,
+        final boolean toInclusive
+    ) {
+        if (Utils.orderOf(comparator).compare(fromKey, toKey) > 0) {
+            throw new IllegalArgumentException("'fromKey' cannot be greater than 'toKey'");
+        }
+        return subMap(higherIndex(fromKey, fromInclusive), lowerIndex(toKey, toInclusive) + 1);
+    }
+
+    @Override
+    public NavigableMap<K, V> headMap(final K toKey, final boolean inclusive) {
+        return subMap(0, lowerIndex(toKey, inclusive) + 1);
+    }
+
+    @Override
+    public NavigableMap<K, V> tailMap(final K fromKey, final boolean inclusive) {
+        return subMap(higherIndex(fromKey, inclusive), size());
+    }
+
+    @Override
+    public SortedMap<K, V> subMap(final K fromKey, final K toKey) {
+        return subMap(fromKey, true, toKey, false);
+    }
+
+    @Override
+    public SortedMap<K, V> headMap(final K toKey) {
+        return headMap(toKey, false);
+    }
+
+    @Override
+    public SortedMap<K, V> tailMap(final K fromKey) {
+        return tailMap(fromKey, true);
+    }
+
+    private class KeySet extends AbstractSet<K> implements NavigableSet<K> {
+
+        @Override
+        public Comparator<? super K> comparator() {
+            return comparator;
+        }
+
+        @Override
+        public int size() {
+            return ArrayMap.this.size();
+        }
+
+        @Override
+        public boolean contains(final Object o) {
+            return containsKey(o);
+        }
+
+        @Override
+        public Iterator<K> iterator() {
+            return keys.iterator();
+        }
+
+        @Override
+        public Spliterator<K> spliterator() {
+            return new RangeSpliterator<>(keys, comparator);
+        }
+
+        @Override
+        public K first() {
+            return firstKey();
+        }
+
+        @Override
+        public K last() {
+            return lastKey();
+        }
+
+        @Override
+        public K lower(final K k) {
+            return lowerKey(k);
+        }
+
+        @Override
+        public K floor(final K k) {
+            return floorKey(k);
+        }
+
+        @Override
+        public K ceiling(final K k) {
+            return ceilingKey(k);
+        }
+
+        @Override
+        public K higher(final K k) {
+            return higherKey(k);
+        }
+
+        @Override
+        public K pollFirst() {
+            throw new UnsupportedOperationException("ArrayMap is immutable");
+        }
+
+        @Override
+        public K pollLast() {
+            throw new UnsupportedOperationException("ArrayMap is immutable");
+        }
+
+        @Override
+        public NavigableSet<K> descendingSet() {
+            return descendingKeySet();
+        }
+
+        @Override
+        public Iterator<K> descendingIterator() {
+            return descendingSet().iterator();
+        }
+
+        @Override
+        public NavigableSet<K> subSet(
+            final K fromElement,
+            final boolean fromInclusive,
+            final K toElement,
+            final boolean toInclusive
+        ) {
+            return subMap(fromElement, fromInclusive, toElement, toInclusive).navigableKeySet();
+        }
+
+        @Override
+        public NavigableSet<K> headSet(final K toElement, final boolean inclusive) {
+            return headMap(toElement, inclusive).navigableKeySet();
+        }
+
+        @Override
+        public NavigableSet<K> tailSet(final K fromElement, final boolean inclusive) {
+            return tailMap(fromElement, inclusive).navigableKeySet();
+        }
+
+        @Override
+        public SortedSet<K> subSet(final K fromElement, final K toElement) {
+            return subSet(fromElement, true, toElement, false);
+        }
+
+        @Override
+        public SortedSet<K> headSet(final K toElement) {
+            return headSet(toElement, false);
+        }
+
+        @Override
+        public SortedSet<K> tailSet(final K fromElement) {
+            return tailSet(fromElement, true);
+        }
+    }
+}
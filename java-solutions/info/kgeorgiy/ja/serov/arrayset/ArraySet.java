@@ -7,6 +7,7 @@ import java.util.Comparator;
 import java.util.Iterator;
 import java.util.List;
 import java.util.SortedSet;
+import java.util.Spliterator;
 
 public class ArraySet<E> extends AbstractSet<E> implements SortedSet<E> {
 
@@ -98,4 +99,9 @@ public class ArraySet<E> extends AbstractSet<E> implements SortedSet<E> {
     public Iterator<E> iterator() {
         return elements.iterator();
     }
+
+    @Override
+    public Spliterator<E> spliterator() {
+        return new RangeSpliterator<>(elements, comparator);
+    }
 }
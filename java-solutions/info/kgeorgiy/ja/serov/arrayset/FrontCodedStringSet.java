@@ -0,0 +1,264 @@
+package info.kgeorgiy.ja.serov.arrayset;
+
+import java.io.ByteArrayOutputStream;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.SortedSet;
+import java.util.Spliterator;
+import java.util.Spliterators;
+
+/**
+ * Immutable sorted set of strings in natural order, stored front-coded.
+ * <p>
+ * Elements are grouped into blocks of {@value BLOCK_SIZE}. Every entry is written
+ * to a single {@code byte[]} as the length of the prefix shared with the previous entry,
+ * the suffix length and the suffix bytes; the first entry of each block is written in full.
+ * Strings are encoded as in modified UTF-8: every UTF-16 code unit takes one to three bytes on its own,
+ * so any {@code String}, unpaired surrogates included, is stored losslessly.
+ * Lookups binary search over block heads and decode only inside one block.
+ */
+public class FrontCodedStringSet extends AbstractSet<String> implements SortedSet<String> {
+
+    private static final int BLOCK_SIZE = 16;
+
+    private final Encoding encoding;
+    private final int from;
+    private final int to;
+
+    public FrontCodedStringSet() {
+        this(List.of());
+    }
+
+    public FrontCodedStringSet(final Collection<String> collection) {
+        this(Encoding.of(Utils.toSortedDistinctList(collection, null)));
+    }
+
+    private FrontCodedStringSet(final Encoding encoding) {
+        this(encoding, 0, encoding.size());
+    }
+
+    private FrontCodedStringSet(final Encoding encoding, final int from, final int to) {
+        this.encoding = encoding;
+        this.from = from;
+        this.to = to;
+    }
+
+    @Override
+    public Comparator<? super String> comparator() {
+        return null;
+    }
+
+    private int indexOf(final String element) {
+        final int index = encoding.binarySearch(element);
+        return Math.clamp(index < 0 ? -index - 1 : index, from, to);
+    }
+
+    private SortedSet<String> subSet(final int fromIndex, final int toIndex) {
+        return new FrontCodedStringSet(encoding, fromIndex, toIndex);
+    }
+
+    @Override
+    public SortedSet<String> subSet(final String fromElement, final String toElement) {
+        if (fromElement.compareTo(toElement) > 0) {
+            throw new IllegalArgumentException("'fromElement' cannot be greater than 'toElement'");
+        }
+        return subSet(indexOf(fromElement), indexOf(toElement));
+    }
+
+    @Override
+    public SortedSet<String> headSet(final String toElement) {
+        return subSet(from, indexOf(toElement));
+    }
+
+    @Override
+    public SortedSet<String> tailSet(final String fromElement) {
+        return subSet(indexOf(fromElement), to);
+    }
+
+    private String get(final int index) {
+        if (index < from || index >= to) {
+            throw new NoSuchElementException();
+        }
+        return encoding.cursor(index).next();
+    }
+
+    @Override
+    public String first() {
+        return get(from);
+    }
+
+    @Override
+    public String last() {
+        return get(to - 1);
+    }
+
+    @Override
+    public int size() {
+        return to - from;
+    }
+
+    @Override
+    public boolean contains(final Object o) {
+        final int index = encoding.binarySearch((String) o);
+        return from <= index && index < to;
+    }
+
+    @Override
+    public Iterator<String> iterator() {
+        return new Iterator<>() {
+            private final Encoding.Cursor cursor = encoding.cursor(from);
+
+            @Override
+            public boolean hasNext() {
+                return cursor.index() < to;
+            }
+
+            @Override
+            public String next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return cursor.next();
+            }
+        };
+    }
+
+    @Override
+    public Spliterator<String> spliterator() {
+        return Spliterators.spliterator(
+            iterator(),
+            size(),
+            Spliterator.ORDERED | Spliterator.SORTED | Spliterator.DISTINCT
+                | Spliterator.IMMUTABLE | Spliterator.NONNULL
+        );
+    }
+
+    private record Encoding(byte[] data, int[] blocks, int size) {
+
+        private static Encoding of(final List<String> sorted) {
+            final ByteArrayOutputStream out = new ByteArrayOutputStream();
+            final int[] blocks = new int[(sorted.size() + BLOCK_SIZE - 1) / BLOCK_SIZE];
+            byte[] previous = new byte[0];
+            for (int i = 0; i < sorted.size(); i++) {
+                final byte[] bytes = Utils.encodeCodeUnits(sorted.get(i));
+                final int prefix;
+                if (i % BLOCK_SIZE == 0) {
+                    blocks[i / BLOCK_SIZE] = out.size();
+                    prefix = 0;
+                } else {
+                    prefix = Math.max(0, Arrays.mismatch(previous, bytes));
+                }
+                writeVarInt(out, prefix);
+                writeVarInt(out, bytes.length - prefix);
+                out.write(bytes, prefix, bytes.length - prefix);
+                previous = bytes;
+            }
+            return new Encoding(out.toByteArray(), blocks, sorted.size());
+        }
+
+        private static void writeVarInt(final ByteArrayOutputStream out, final int value) {
+            int rest = value;
+            while ((rest & ~0x7F) != 0) {
+                out.write(rest & 0x7F | 0x80);
+                rest >>>= 7;
+            }
+            out.write(rest);
+        }
+
+        private Cursor cursor(final int index) {
+            final Cursor cursor = new Cursor(Math.min(index / BLOCK_SIZE, blocks.length));
+            while (cursor.index() < index) {
+                cursor.skip();
+            }
+            return cursor;
+        }
+
+        private String head(final int block) {
+            return new Cursor(block).next();
+        }
+
+        // same contract as Collections.binarySearch over the whole encoding
+        private int binarySearch(final String key) {
+            int block = -1;
+            int lo = 0;
+            int hi = blocks.length - 1;
+            while (lo <= hi) {
+                final int mid = (lo + hi) >>> 1;
+                final int cmp = head(mid).compareTo(key);
+                if (cmp == 0) {
+                    return mid * BLOCK_SIZE;
+                } else if (cmp < 0) {
+                    block = mid;
+                    lo = mid + 1;
+                } else {
+                    hi = mid - 1;
+                }
+            }
+            if (block < 0) {
+                return -1;
+            }
+            final Cursor cursor = new Cursor(block);
+            cursor.skip();
+            final int end = Math.min(size, (block + 1) * BLOCK_SIZE);
+            while (cursor.index() < end) {
+                final int index = cursor.index();
+                final int cmp = cursor.next().compareTo(key);
+                if (cmp == 0) {
+                    return index;
+                } else if (cmp > 0) {
+                    return -index - 1;
+                }
+            }
+            return -end - 1;
+        }
+
+        private final class Cursor {
+            private byte[] buffer = new byte[32];
+            private int length;
+            private int position;
+            private int index;
+
+            private Cursor(final int block) {
+                this.position = block < blocks.length ? blocks[block] : data.length;
+                this.index = Math.min(block * BLOCK_SIZE, size);
+            }
+
+            private int index() {
+                return index;
+            }
+
+            private int readVarInt() {
+                int value = 0;
+                for (int shift = 0; ; shift += 7) {
+                    final byte b = data[position++];
+                    value |= (b & 0x7F) << shift;
+                    if (b >= 0) {
+                        return value;
+                    }
+                }
+            }
+
+            private void skip() {
+                final int prefix = readVarInt();
+                final int suffix = readVarInt();
+                length = prefix + suffix;
+                if (buffer.length < length) {
+                    buffer = Arrays.copyOf(buffer, Math.max(length, buffer.length * 2));
+                }
+                System.arraycopy(data, position, buffer, prefix, suffix);
+                position += suffix;
+                index++;
+            }
+
+            private String next() {
+                skip();
+                return Utils.decodeCodeUnits(buffer, length);
+            }
+        }
+    }
+}
@@ -0,0 +1,385 @@
+package info.kgeorgiy.ja.serov.arrayset;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.SortedSet;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * Read-only sorted set over a memory-mapped file written by {@link #write(Path, Collection, Layout)}.
+ * <p>
+ * Elements stay off-heap and are decoded lazily, only when returned to the caller.
+ * The file is a 16-byte header (magic, layout tag, size) followed by the layout-specific body:
+ * fixed-width big-endian keys, or an offset table and encoded bytes for strings.
+ * The body size is checked against the header when the file is opened.
+ * Views share the mapping; closing the opened set unmaps it for all of them.
+ */
+public class MappedArraySet<E> extends AbstractSet<E> implements SortedSet<E>, AutoCloseable {
+
+    private static final int MAGIC = 0x41534554;
+    private static final long HEADER_SIZE = 16;
+
+    private static final ValueLayout.OfInt INT =
+        ValueLayout.JAVA_INT_UNALIGNED.withOrder(ByteOrder.BIG_ENDIAN);
+    private static final ValueLayout.OfLong LONG =
+        ValueLayout.JAVA_LONG_UNALIGNED.withOrder(ByteOrder.BIG_ENDIAN);
+
+    public static final Layout<Integer> INTS = new IntLayout();
+    public static final Layout<Long> LONGS = new LongLayout();
+    public static final Layout<String> STRINGS = new StringLayout();
+
+    private final Arena arena;
+    private final Layout<E> layout;
+    private final MemorySegment body;
+    private final int count;
+    private final int from;
+    private final int to;
+
+    private MappedArraySet(
+        final Arena arena,
+        final Layout<E> layout,
+        final MemorySegment body,
+        final int count,
+        final int from,
+        final int to
+    ) {
+        this.arena = arena;
+        this.layout = layout;
+        this.body = body;
+        this.count = count;
+        this.from = from;
+        this.to = to;
+    }
+
+    public static <E> void write(
+        final Path file,
+        final Collection<? extends E> collection,
+        final Layout<E> layout
+    ) throws IOException {
+        final List<E> sorted = Utils.toSortedDistinctList(collection, layout.comparator());
+        try (final DataOutputStream out = new DataOutputStream(
+            new BufferedOutputStream(Files.newOutputStream(file))
+        )) {
+            out.writeInt(MAGIC);
+            out.writeInt(layout.tag());
+            out.writeLong(sorted.size());
+            layout.write(out, sorted);
+        }
+    }
+
+    public static <E> MappedArraySet<E> open(final Path file, final Layout<E> layout) throws IOException {
+        final Arena arena = Arena.ofShared();
+        try (final FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            final MemorySegment segment = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size(), arena);
+            if (segment.byteSize() < HEADER_SIZE || segment.get(INT, 0) != MAGIC) {
+                throw new IOException("Not an array set file: " + file);
+            }
+            if (segment.get(INT, 4) != layout.tag()) {
+                throw new IOException("Unexpected layout " + segment.get(INT, 4) + " in " + file);
+            }
+            final long size = segment.get(LONG, 8);
+            final MemorySegment body = segment.asSlice(HEADER_SIZE);
+            if (size < 0 || size >= Integer.MAX_VALUE || !layout.fits(body, (int) size)) {
+                throw new IOException("Size " + size + " does not match the file length in " + file);
+            }
+            return new MappedArraySet<>(arena, layout, body, (int) size, 0, (int) size);
+        } catch (final IOException | RuntimeException e) {
+            arena.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Unmaps the file. Does nothing for views.
+     */
+    @Override
+    public void close() {
+        if (arena != null) {
+            arena.close();
+        }
+    }
+
+    @Override
+    public Comparator<? super E> comparator() {
+        return layout.comparator();
+    }
+
+    private int binarySearch(final E element) {
+        return layout.binarySearch(body, count, element);
+    }
+
+    private int indexOf(final E element) {
+        final int index = binarySearch(element);
+        return Math.clamp(index < 0 ? -index - 1 : index, from, to);
+    }
+
+    private SortedSet<E> subSet(final int fromIndex, final int toIndex) {
+        return new MappedArraySet<>(null, layout, body, count, fromIndex, toIndex);
+    }
+
+    @Override
+    public SortedSet<E> subSet(final E fromElement, final E toElement) {
+        if (Utils.orderOf(comparator()).compare(fromElement, toElement) > 0) {
+            throw new IllegalArgumentException("'fromElement' cannot be greater than 'toElement'");
+        }
+        return subSet(indexOf(fromElement), indexOf(toElement));
+    }
+
+    @Override
+    public SortedSet<E> headSet(final E toElement) {
+        return subSet(from, indexOf(toElement));
+    }
+
+    @Override
+    public SortedSet<E> tailSet(final E fromElement) {
+        return subSet(indexOf(fromElement), to);
+    }
+
+    private E get(final int index) {
+        if (index < from || index >= to) {
+            throw new NoSuchElementException();
+        }
+        return layout.get(body, count, index);
+    }
+
+    @Override
+    public E first() {
+        return get(from);
+    }
+
+    @Override
+    public E last() {
+        return get(to - 1);
+    }
+
+    @Override
+    public int size() {
+        return to - from;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public boolean contains(final Object o) {
+        final int index = binarySearch((E) o);
+        return from <= index && index < to;
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+        return new Iterator<>() {
+            private int index = from;
+
+            @Override
+            public boolean hasNext() {
+                return index < to;
+            }
+
+            @Override
+            public E next() {
+                return get(index++);
+            }
+        };
+    }
+
+    // same contract as Collections.binarySearch, compareAt(i) compares i-th element with the key
+    private static int binarySearch(final int size, final IntUnaryOperator compareAt) {
+        int lo = 0;
+        int hi = size - 1;
+        while (lo <= hi) {
+            final int mid = (lo + hi) >>> 1;
+            final int cmp = compareAt.applyAsInt(mid);
+            if (cmp == 0) {
+                return mid;
+            } else if (cmp < 0) {
+                lo = mid + 1;
+            } else {
+                hi = mid - 1;
+            }
+        }
+        return -lo - 1;
+    }
+
+    /**
+     * On-disk representation of the elements of type {@code E}.
+     */
+    public interface Layout<E> {
+
+        int tag();
+
+        Comparator<? super E> comparator();
+
+        void write(DataOutputStream out, List<? extends E> sorted) throws IOException;
+
+        /**
+         * Checks that {@code body} holds exactly {@code size} elements.
+         */
+        boolean fits(MemorySegment body, int size);
+
+        E get(MemorySegment body, int size, int index);
+
+        int binarySearch(MemorySegment body, int size, E key);
+    }
+
+    private static final class IntLayout implements Layout<Integer> {
+
+        @Override
+        public int tag() {
+            return 1;
+        }
+
+        @Override
+        public Comparator<? super Integer> comparator() {
+            return null;
+        }
+
+        @Override
+        public void write(final DataOutputStream out, final List<? extends Integer> sorted) throws IOException {
+            for (final int value : sorted) {
+                out.writeInt(value);
+            }
+        }
+
+        @Override
+        public boolean fits(final MemorySegment body, final int size) {
+            return body.byteSize() == (long) size * Integer.BYTES;
+        }
+
+        @Override
+        public Integer get(final MemorySegment body, final int size, final int index) {
+            return body.getAtIndex(INT, index);
+        }
+
+        @Override
+        public int binarySearch(final MemorySegment body, final int size, final Integer key) {
+            final int value = key;
+            return MappedArraySet.binarySearch(size, i -> Integer.compare(body.getAtIndex(INT, i), value));
+        }
+    }
+
+    private static final class LongLayout implements Layout<Long> {
+
+        @Override
+        public int tag() {
+            return 2;
+        }
+
+        @Override
+        public Comparator<? super Long> comparator() {
+            return null;
+        }
+
+        @Override
+        public void write(final DataOutputStream out, final List<? extends Long> sorted) throws IOException {
+            for (final long value : sorted) {
+                out.writeLong(value);
+            }
+        }
+
+        @Override
+        public boolean fits(final MemorySegment body, final int size) {
+            return body.byteSize() == (long) size * Long.BYTES;
+        }
+
+        @Override
+        public Long get(final MemorySegment body, final int size, final int index) {
+            return body.getAtIndex(LONG, index);
+        }
+
+        @Override
+        public int binarySearch(final MemorySegment body, final int size, final Long key) {
+            final long value = key;
+            return MappedArraySet.binarySearch(size, i -> Long.compare(body.getAtIndex(LONG, i), value));
+        }
+    }
+
+    /**
+     * Strings in natural order, encoded one UTF-16 code unit at a time
+     * as {@link Utils#encodeCodeUnits(String)} does, so any string, unpaired surrogates included,
+     * is stored losslessly, and the unsigned order of the mapped bytes is the natural order:
+     * they are compared without decoding.
+     * Body is {@code size + 1} offsets into the following encoded bytes.
+     */
+    private static final class StringLayout implements Layout<String> {
+
+        @Override
+        public int tag() {
+            // 3 was the former UTF-8 encoding in code point order
+            return 4;
+        }
+
+        @Override
+        public Comparator<? super String> comparator() {
+            return null;
+        }
+
+        @Override
+        public void write(final DataOutputStream out, final List<? extends String> sorted) throws IOException {
+            final List<byte[]> encoded = sorted.stream().map(Utils::encodeCodeUnits).toList();
+            long offset = 0;
+            out.writeLong(offset);
+            for (final byte[] bytes : encoded) {
+                offset += bytes.length;
+                out.writeLong(offset);
+            }
+            for (final byte[] bytes : encoded) {
+                out.write(bytes);
+            }
+        }
+
+        @Override
+        public boolean fits(final MemorySegment body, final int size) {
+            final long table = (size + 1L) * Long.BYTES;
+            return body.byteSize() >= table
+                && body.getAtIndex(LONG, 0) == 0
+                && body.getAtIndex(LONG, size) == body.byteSize() - table;
+        }
+
+        private static long start(final MemorySegment body, final int size, final int index) {
+            return (size + 1L) * Long.BYTES + body.getAtIndex(LONG, index);
+        }
+
+        @Override
+        public String get(final MemorySegment body, final int size, final int index) {
+            final long start = start(body, size, index);
+            final long end = start(body, size, index + 1);
+            final byte[] bytes = body.asSlice(start, end - start).toArray(ValueLayout.JAVA_BYTE);
+            return Utils.decodeCodeUnits(bytes, bytes.length);
+        }
+
+        @Override
+        public int binarySearch(final MemorySegment body, final int size, final String key) {
+            final MemorySegment bytes = MemorySegment.ofArray(Utils.encodeCodeUnits(key));
+            return MappedArraySet.binarySearch(size, i -> {
+                final long start = start(body, size, i);
+                final long end = start(body, size, i + 1);
+                final long mismatch = MemorySegment.mismatch(body, start, end, bytes, 0, bytes.byteSize());
+                if (mismatch == -1) {
+                    return 0;
+                } else if (mismatch == end - start) {
+                    return -1;
+                } else if (mismatch == bytes.byteSize()) {
+                    return 1;
+                }
+                return Integer.compare(
+                    Byte.toUnsignedInt(body.get(ValueLayout.JAVA_BYTE, start + mismatch)),
+                    Byte.toUnsignedInt(bytes.get(ValueLayout.JAVA_BYTE, mismatch))
+                );
+            });
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package info.kgeorgiy.ja.serov.arrayset;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+class RangeSpliterator<E> implements Spliterator<E> {
+
+    private static final int CHARACTERISTICS =
+        ORDERED | SORTED | DISTINCT | SIZED | SUBSIZED | IMMUTABLE;
+
+    private final List<E> elements;
+    private final Comparator<? super E> comparator;
+
+    private int from;
+    private final int to;
+
+    RangeSpliterator(final List<E> elements, final Comparator<? super E> comparator) {
+        this(elements, comparator, 0, elements.size());
+    }
+
+    private RangeSpliterator(
+        final List<E> elements,
+        final Comparator<? super E> comparator,
+        final int from,
+        final int to
+    ) {
+        this.elements = elements;
+        this.comparator = comparator;
+        this.from = from;
+        this.to = to;
+    }
+
+    @Override
+    public boolean tryAdvance(final Consumer<? super E> action) {
+        if (from >= to) {
+            return false;
+        }
+        action.accept(elements.get(from++));
+        return true;
+    }
+
+    @Override
+    public void forEachRemaining(final Consumer<? super E> action) {
+        final int end = to;
+        for (int i = from; i < end; i++) {
+            action.accept(elements.get(i));
+        }
+        from = end;
+    }
+
+    @Override
+    public Spliterator<E> trySplit() {
+        final int mid = (from + to) >>> 1;
+        if (mid <= from) {
+            return null;
+        }
+        final Spliterator<E> prefix = new RangeSpliterator<>(elements, comparator, from, mid);
+        from = mid;
+        return prefix;
+    }
+
+    @Override
+    public long estimateSize() {
+        return to - from;
+    }
+
+    @Override
+    public int characteristics() {
+        return CHARACTERISTICS;
+    }
+
+    @Override
+    public Comparator<? super E> getComparator() {
+        return comparator;
+    }
+}
@@ -1,37 +1,69 @@
 package info.kgeorgiy.ja.serov.arrayset;
 
-import java.util.ArrayList;
+import java.io.ByteArrayOutputStream;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Objects;
+import java.util.SortedSet;
 
 public enum Utils {
     ;
 
+    // inputs larger than this are sorted with Arrays.parallelSort
+    private static final int PARALLEL_SORT_THRESHOLD = 1 << 16;
+
     public static void main(final String[] args) {
         System.out.println(new ArraySet<>().size());
     }
 
+    @SuppressWarnings("unchecked")
+    public static <E> Comparator<? super E> orderOf(final Comparator<? super E> comparator) {
+        return comparator == null ? (Comparator<? super E>) Comparator.naturalOrder() : comparator;
+    }
+
+    private static boolean isSortedDistinct(
+        final Collection<?> collection,
+        final Comparator<?> comparator
+    ) {
+        return collection instanceof final SortedSet<?> sortedSet
+            && Objects.equals(sortedSet.comparator(), comparator);
+    }
+
+    private static <E> int distinctInPlace(final E[] sorted, final Comparator<? super E> order) {
+        if (sorted.length <= 1) {
+            return sorted.length;
+        }
+        int size = 1;
+        for (int i = 1; i < sorted.length; i++) {
+            if (order.compare(sorted[size - 1], sorted[i]) != 0) {
+                sorted[size++] = sorted[i];
+            }
+        }
+        Arrays.fill(sorted, size, sorted.length, null);
+        return size;
+    }
+
+    @SuppressWarnings("unchecked")
     private static <E> List<E> toSortedDistinctArrayList(
         final Collection<? extends E> collection,
         final Comparator<? super E> comparator
     ) {
-        final List<E> sorted = new ArrayList<>(collection);
-        sorted.sort(comparator);
-        if (comparator == null || sorted.size() <= 1) {
-            return sorted;
+        final E[] array = (E[]) collection.toArray();
+        if (isSortedDistinct(collection, comparator)) {
+            return Arrays.asList(array);
         }
-        final List<E> distinct = new ArrayList<>();
-        E cur = sorted.getFirst();
-        distinct.add(cur);
-        for (final E e : sorted.subList(1, sorted.size())) {
-            if (comparator.compare(cur, e) != 0) {
-                distinct.add(e);
-                cur = e;
-            }
+        final Comparator<? super E> order = orderOf(comparator);
+        if (array.length > PARALLEL_SORT_THRESHOLD) {
+            Arrays.parallelSort(array, order);
+        } else {
+            Arrays.sort(array, order);
         }
-        return distinct;
+        final int size = distinctInPlace(array, order);
+        final List<E> distinct = Arrays.asList(array);
+        return size == array.length ? distinct : distinct.subList(0, size);
     }
 
     public static <E> List<E> toSortedDistinctList(
@@ -42,4 +74,44 @@ public enum Utils {
             toSortedDistinctArrayList(collection, comparator)
         );
     }
+
+    /**
+     * Encodes every UTF-16 code unit on its own in one to three bytes, as modified UTF-8 does.
+     * <p>
+     * Unlike {@link java.nio.charset.StandardCharsets#UTF_8} it is lossless for unpaired surrogates,
+     * and unsigned byte order of the encodings is the {@link String#compareTo} order of the strings.
+     */
+    static byte[] encodeCodeUnits(final String string) {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream(string.length());
+        for (int i = 0; i < string.length(); i++) {
+            final char c = string.charAt(i);
+            if (c < 0x80) {
+                out.write(c);
+            } else if (c < 0x800) {
+                out.write(0xC0 | c >> 6);
+                out.write(0x80 | c & 0x3F);
+            } else {
+                out.write(0xE0 | c >> 12);
+                out.write(0x80 | c >> 6 & 0x3F);
+                out.write(0x80 | c & 0x3F);
+            }
+        }
+        return out.toByteArray();
+    }
+
+    static String decodeCodeUnits(final byte[] bytes, final int length) {
+        final char[] chars = new char[length];
+        int count = 0;
+        for (int i = 0; i < length; ) {
+            final int b = bytes[i++] & 0xFF;
+            if (b < 0x80) {
+                chars[count++] = (char) b;
+            } else if (b < 0xE0) {
+                chars[count++] = (char) ((b & 0x1F) << 6 | bytes[i++] & 0x3F);
+            } else {
+                chars[count++] = (char) ((b & 0x0F) << 12 | (bytes[i++] & 0x3F) << 6 | bytes[i++] & 0x3F);
+            }
+        }
+        return new String(chars, 0, count);
+    }
 }
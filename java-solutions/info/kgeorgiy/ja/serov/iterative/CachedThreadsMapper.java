@@ -0,0 +1,170 @@
+package info.kgeorgiy.ja.serov.iterative;
+
+import info.kgeorgiy.java.advanced.mapper.ParallelMapper;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * {@link ParallelMapper Parallel mapper} running every item on its own thread,
+ * reusing idle threads of the previous calls.
+ * <p>
+ * Threads are daemons created on demand, so the parallelism is the same as with fresh threads,
+ * and are retired after {@value KEEP_ALIVE_SECONDS} seconds without work.
+ *
+ * @author alnmlbch
+ */
+class CachedThreadsMapper implements ParallelMapper {
+
+    private static final long KEEP_ALIVE_SECONDS = 30;
+
+    private final Deque<Worker> idle = new ArrayDeque<>();
+    private boolean closed = false;
+
+    /**
+     * Returns lazily created mapper shared by all default {@link IterativeParallelism} instances.
+     *
+     * @return shared mapper
+     */
+    static CachedThreadsMapper shared() {
+        return Holder.SHARED;
+    }
+
+    @Override
+    public <T, R> List<R> map(
+        final Function<? super T, ? extends R> f,
+        final List<? extends T> items
+    ) throws InterruptedException {
+        final List<R> results = new ArrayList<>(Collections.nCopies(items.size(), null));
+        final Countdown countdown = new Countdown(items.size());
+        for (int i = 0; i < items.size(); i++) {
+            final int index = i;
+            execute(() -> {
+                try {
+                    results.set(index, f.apply(items.get(index)));
+                } catch (final RuntimeException e) {
+                    ParallelUtils.report(e);
+                } finally {
+                    countdown.countDown();
+                }
+            });
+        }
+        countdown.await();
+        return results;
+    }
+
+    private void execute(final Runnable task) {
+        final Worker worker;
+        synchronized (this) {
+            if (closed) {
+                throw new IllegalStateException("Mapper is closed");
+            }
+            worker = idle.pollLast();
+        }
+        if (worker == null) {
+            new Worker(task);
+        } else {
+            worker.assign(task);
+        }
+    }
+
+    private synchronized boolean release(final Worker worker) {
+        if (!closed) {
+            idle.addLast(worker);
+        }
+        return !closed;
+    }
+
+    private synchronized boolean retire(final Worker worker) {
+        return idle.remove(worker);
+    }
+
+    /**
+     * Stops idle threads and forbids new mappings, running ones are completed.
+     */
+    @Override
+    public void close() {
+        final List<Worker> workers;
+        synchronized (this) {
+            closed = true;
+            workers = List.copyOf(idle);
+            idle.clear();
+        }
+        workers.forEach(Worker::stop);
+    }
+
+    private static class Holder {
+        private static final CachedThreadsMapper SHARED = new CachedThreadsMapper();
+    }
+
+    private final class Worker {
+
+        private Runnable next;
+        private boolean stopped;
+
+        private Worker(final Runnable first) {
+            this.next = first;
+            Thread.ofPlatform().daemon().name("iterative-worker").start(this::loop);
+        }
+
+        private synchronized void assign(final Runnable task) {
+            next = task;
+            notify();
+        }
+
+        private synchronized void stop() {
+            stopped = true;
+            notify();
+        }
+
+        // waits for the next task at most timeout nanoseconds, forever if it is zero
+        private synchronized Runnable await(final long timeout) throws InterruptedException {
+            final long deadline = System.nanoTime() + timeout;
+            while (next == null && !stopped) {
+                if (timeout == 0) {
+                    wait();
+                } else {
+                    final long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0) {
+                        break;
+                    }
+                    TimeUnit.NANOSECONDS.timedWait(this, remaining);
+                }
+            }
+            final Runnable task = next;
+            next = null;
+            return task;
+        }
+
+        private synchronized boolean isStopped() {
+            return stopped;
+        }
+
+        private Runnable takeNext() throws InterruptedException {
+            final Runnable task = await(TimeUnit.SECONDS.toNanos(KEEP_ALIVE_SECONDS));
+            if (task != null || isStopped() || retire(this)) {
+                return task;
+            }
+            // taken from idle concurrently with the timeout, the task is on its way
+            return await(0);
+        }
+
+        private void loop() {
+            try {
+                for (Runnable task = await(0); task != null; task = takeNext()) {
+                    task.run();
+                    if (!release(this)) {
+                        break;
+                    }
+                }
+            } catch (final InterruptedException _) {
+                // retired
+            }
+        }
+    }
+}
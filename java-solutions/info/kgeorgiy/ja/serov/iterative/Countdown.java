@@ -0,0 +1,61 @@
+package info.kgeorgiy.ja.serov.iterative;
+
+/**
+ * Single-use barrier waking its waiters once all parties have counted down.
+ * <p>
+ * Simple replacement of {@link java.util.concurrent.CountDownLatch} built on a monitor.
+ *
+ * @author alnmlbch
+ */
+class Countdown {
+
+    private final Runnable onZero;
+    private int remaining;
+
+    /**
+     * Creates barrier for {@code count} parties.
+     *
+     * @param count number of {@link #countDown()} invocations to wait for
+     */
+    Countdown(final int count) {
+        this(count, () -> {});
+    }
+
+    /**
+     * Creates barrier for {@code count} parties running {@code onZero} by the last of them.
+     *
+     * @param count  number of {@link #countDown()} invocations to wait for
+     * @param onZero action run after waiters are woken up
+     */
+    Countdown(final int count, final Runnable onZero) {
+        this.remaining = count;
+        this.onZero = onZero;
+    }
+
+    /**
+     * Marks one party as finished.
+     */
+    void countDown() {
+        final boolean last;
+        synchronized (this) {
+            last = --remaining == 0;
+            if (last) {
+                notifyAll();
+            }
+        }
+        if (last) {
+            onZero.run();
+        }
+    }
+
+    /**
+     * Waits for all parties to finish.
+     *
+     * @throws InterruptedException if current thread was interrupted while waiting
+     */
+    synchronized void await() throws InterruptedException {
+        while (remaining > 0) {
+            wait();
+        }
+    }
+}
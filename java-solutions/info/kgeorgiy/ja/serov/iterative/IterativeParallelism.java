@@ -3,10 +3,17 @@ package info.kgeorgiy.ja.serov.iterative;
 import info.kgeorgiy.java.advanced.iterative.ScalarIP;
 import info.kgeorgiy.java.advanced.mapper.ParallelMapper;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.DoublePredicate;
 import java.util.function.Function;
+import java.util.function.IntPredicate;
+import java.util.function.LongPredicate;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
 import java.util.stream.IntStream;
@@ -23,15 +30,22 @@ public class IterativeParallelism implements ScalarIP {
 
     // npos index
     private static final int NO_INDEX = -1;
+    private static final int CHUNKS_PER_THREAD = 4;
+    private static final int MIN_CHUNK_SIZE = 1 << 10;
+    // small enough for the elements of a block to stay in cache while every query operation scans it
+    private static final int QUERY_BLOCK_SIZE = 1 << 10;
+
     private final ParallelMapper parallelMapper;
 
     /**
      * Public default constructor.
      * <p>
-     * All next invocations will create new threads instances.
+     * Every invocation runs up to {@code threads} workers, each on its own thread,
+     * which take the list chunks one by one until none are left.
+     * Threads left idle by the previous invocations are reused instead of being created again.
      */
     public IterativeParallelism() {
-        this(null);
+        this(CachedThreadsMapper.shared());
     }
 
     /**
@@ -46,6 +60,15 @@ public class IterativeParallelism implements ScalarIP {
         this.parallelMapper = parallelMapper;
     }
 
+    /**
+     * Creates {@link IterativeParallelism IP} starting new threads on every invocation.
+     *
+     * @return IP without threads reuse
+     */
+    public static IterativeParallelism withNewThreads() {
+        return new IterativeParallelism(null);
+    }
+
     /** {@link IterativeParallelism Iterative parallelism} launcher. */
     public static void main(final String[] args) {
         // ip
@@ -66,11 +89,34 @@ public class IterativeParallelism implements ScalarIP {
         final List<T> values,
         final Comparator<? super T> comparator
     ) throws InterruptedException {
-        final Function<Stream<Indexed<T>>, Indexed<T>> evaluator =
-            stream -> stream
-                .max(Comparator.comparing(Indexed::value, comparator))
-                .orElseThrow(NoSuchElementException::new);
-        return parallel(threads, values, evaluator, evaluator.andThen(Indexed::index));
+        return parallel(threads, values.size(), argMaxReduction(compareAt(values, comparator)));
+    }
+
+    private static <T> IndexComparator compareAt(
+        final List<? extends T> values,
+        final Comparator<? super T> comparator
+    ) {
+        return (i, j) -> comparator.compare(values.get(i), values.get(j));
+    }
+
+    private static Reduction<Integer, Integer> argMaxReduction(final IndexComparator comparator) {
+        return new Reduction<>(
+            range -> argMax(range, comparator),
+            results -> results
+                .reduce((i, j) -> comparator.compare(j, i) > 0 ? j : i)
+                .orElseThrow(NoSuchElementException::new)
+        );
+    }
+
+    // index of the first greatest element of the range
+    private static int argMax(final Range range, final IndexComparator comparator) {
+        int max = range.from();
+        for (int i = range.from() + 1; i < range.to(); i++) {
+            if (comparator.compare(i, max) > 0) {
+                max = i;
+            }
+        }
+        return max;
     }
 
     @Override
@@ -82,17 +128,46 @@ public class IterativeParallelism implements ScalarIP {
         return argMax(threads, values, comparator.reversed());
     }
 
-    private <T> IntStream filteredIndices(
-        final Stream<Indexed<T>> stream,
-        final Predicate<? super T> predicate
-    ) {
-        return stream
-            .filter(i -> predicate.test(i.value()))
-            .mapToInt(Indexed::index);
+    private static int firstIndex(final IntStream indices) {
+        return indices.filter(index -> index != NO_INDEX).min().orElse(NO_INDEX);
+    }
+
+    private static int lastIndex(final IntStream indices) {
+        return indices.max().orElse(NO_INDEX);
+    }
+
+    /**
+     * Scans range from its start, giving up as soon as
+     * some other range has already found a smaller index.
+     */
+    private static int firstIndex(final Range range, final IntPredicate matches, final AtomicInteger found) {
+        for (int i = range.from(); i < range.to(); i++) {
+            if (i > found.get()) {
+                break;
+            }
+            if (matches.test(i)) {
+                found.accumulateAndGet(i, Math::min);
+                return i;
+            }
+        }
+        return NO_INDEX;
     }
 
-    private int findFirstIndex(final IntStream indices) {
-        return indices.findFirst().orElse(NO_INDEX);
+    /**
+     * Scans range from its end, giving up as soon as
+     * some other range has already found a greater index.
+     */
+    private static int lastIndex(final Range range, final IntPredicate matches, final AtomicInteger found) {
+        for (int i = range.to() - 1; i >= range.from(); i--) {
+            if (i < found.get()) {
+                break;
+            }
+            if (matches.test(i)) {
+                found.accumulateAndGet(i, Math::max);
+                return i;
+            }
+        }
+        return NO_INDEX;
     }
 
     @Override
@@ -101,15 +176,18 @@ public class IterativeParallelism implements ScalarIP {
         final List<T> values,
         final Predicate<? super T> predicate
     ) throws InterruptedException {
-        return parallel(
-            threads,
-            values,
-            chunk -> findFirstIndex(filteredIndices(chunk, predicate)),
-            results -> findFirstIndex(
-                results
-                    .mapToInt(index -> index)
-                    .filter(index -> index != NO_INDEX)
-            )
+        return parallel(threads, values.size(), indexOfReduction(matchesAt(values, predicate)));
+    }
+
+    private static <T> IntPredicate matchesAt(final List<? extends T> values, final Predicate<? super T> predicate) {
+        return i -> predicate.test(values.get(i));
+    }
+
+    private static Reduction<Integer, Integer> indexOfReduction(final IntPredicate matches) {
+        final AtomicInteger found = new AtomicInteger(Integer.MAX_VALUE);
+        return new Reduction<>(
+            range -> firstIndex(range, matches, found),
+            results -> firstIndex(results.mapToInt(index -> index))
         );
     }
 
@@ -119,8 +197,25 @@ public class IterativeParallelism implements ScalarIP {
         final List<T> values,
         final Predicate<? super T> predicate
     ) throws InterruptedException {
-        final int reversedIndex = indexOf(threads, values.reversed(), predicate);
-        return reversedIndex == NO_INDEX ? NO_INDEX : values.size() - 1 - reversedIndex;
+        return parallel(threads, values.size(), lastIndexOfReduction(matchesAt(values, predicate)));
+    }
+
+    private static Reduction<Integer, Integer> lastIndexOfReduction(final IntPredicate matches) {
+        final AtomicInteger found = new AtomicInteger(NO_INDEX);
+        return new Reduction<>(
+            range -> lastIndex(range, matches, found),
+            results -> lastIndex(results.mapToInt(index -> index))
+        );
+    }
+
+    private static long sumIndices(final Range range, final IntPredicate matches) {
+        long sum = 0;
+        for (int i = range.from(); i < range.to(); i++) {
+            if (matches.test(i)) {
+                sum += i;
+            }
+        }
+        return sum;
     }
 
     @Override
@@ -129,86 +224,488 @@ public class IterativeParallelism implements ScalarIP {
         final List<? extends T> values,
         final Predicate<? super T> predicate
     ) throws InterruptedException {
-        return parallel(
-            threads,
-            values,
-            chunk -> filteredIndices(chunk, predicate).mapToLong(index -> index).sum(),
+        return parallel(threads, values.size(), sumIndicesReduction(matchesAt(values, predicate)));
+    }
+
+    private static Reduction<Long, Long> sumIndicesReduction(final IntPredicate matches) {
+        return new Reduction<>(
+            range -> sumIndices(range, matches),
             results -> results.reduce(0L, Long::sum)
         );
     }
 
-    private <T> Stream<OffsetList<T>> chunked(
-        final int chunks,
-        final List<? extends T> values
-    ) {
-        final int nChunks = Math.min(chunks, values.size());
-        final int chunkSize = values.size() / nChunks;
-        final int rem = values.size() % nChunks;
+    // === Primitive arrays
+
+    /**
+     * Returns the index of the first maximum of the array.
+     *
+     * @param threads number of concurrent threads
+     * @param values  array to look in
+     * @return index of the first greatest element
+     * @throws InterruptedException   if executing thread was interrupted
+     * @throws NoSuchElementException if array is empty
+     */
+    public int argMax(final int threads, final int[] values) throws InterruptedException {
+        return parallel(threads, values.length, argMaxReduction((i, j) -> Integer.compare(values[i], values[j])));
+    }
+
+    /**
+     * Returns the index of the first minimum of the array.
+     *
+     * @param threads number of concurrent threads
+     * @param values  array to look in
+     * @return index of the first least element
+     * @throws InterruptedException   if executing thread was interrupted
+     * @throws NoSuchElementException if array is empty
+     */
+    public int argMin(final int threads, final int[] values) throws InterruptedException {
+        return parallel(threads, values.length, argMaxReduction((i, j) -> Integer.compare(values[j], values[i])));
+    }
+
+    /**
+     * Returns the index of the first element of the array matching the predicate.
+     *
+     * @param threads   number of concurrent threads
+     * @param values    array to look in
+     * @param predicate test predicate
+     * @return index of the first match or {@code -1} if there is none
+     * @throws InterruptedException if executing thread was interrupted
+     */
+    public int indexOf(final int threads, final int[] values, final IntPredicate predicate)
+        throws InterruptedException {
+        return parallel(threads, values.length, indexOfReduction(i -> predicate.test(values[i])));
+    }
+
+    /**
+     * Returns the index of the last element of the array matching the predicate.
+     *
+     * @param threads   number of concurrent threads
+     * @param values    array to look in
+     * @param predicate test predicate
+     * @return index of the last match or {@code -1} if there is none
+     * @throws InterruptedException if executing thread was interrupted
+     */
+    public int lastIndexOf(final int threads, final int[] values, final IntPredicate predicate)
+        throws InterruptedException {
+        return parallel(threads, values.length, lastIndexOfReduction(i -> predicate.test(values[i])));
+    }
+
+    /**
+     * Returns the sum of the array elements, computed without overflow for arrays shorter than {@code 2^32}.
+     *
+     * @param threads number of concurrent threads
+     * @param values  array to sum
+     * @return sum of the elements
+     * @throws InterruptedException if executing thread was interrupted
+     */
+    public long sum(final int threads, final int[] values) throws InterruptedException {
+        return parallel(threads, values.length, range -> {
+            long sum = 0;
+            for (int i = range.from(); i < range.to(); i++) {
+                sum += values[i];
+            }
+            return sum;
+        }, results -> results.reduce(0L, Long::sum));
+    }
+
+    /**
+     * Returns the index of the first maximum of the array.
+     *
+     * @param threads number of concurrent threads
+     * @param values  array to look in
+     * @return index of the first greatest element
+     * @throws InterruptedException   if executing thread was interrupted
+     * @throws NoSuchElementException if array is empty
+     */
+    public int argMax(final int threads, final long[] values) throws InterruptedException {
+        return parallel(threads, values.length, argMaxReduction((i, j) -> Long.compare(values[i], values[j])));
+    }
+
+    /**
+     * Returns the index of the first minimum of the array.
+     *
+     * @param threads number of concurrent threads
+     * @param values  array to look in
+     * @return index of the first least element
+     * @throws InterruptedException   if executing thread was interrupted
+     * @throws NoSuchElementException if array is empty
+     */
+    public int argMin(final int threads, final long[] values) throws InterruptedException {
+        return parallel(threads, values.length, argMaxReduction((i, j) -> Long.compare(values[j], values[i])));
+    }
+
+    /**
+     * Returns the index of the first element of the array matching the predicate.
+     *
+     * @param threads   number of concurrent threads
+     * @param values    array to look in
+     * @param predicate test predicate
+     * @return index of the first match or {@code -1} if there is none
+     * @throws InterruptedException if executing thread was interrupted
+     */
+    public int indexOf(final int threads, final long[] values, final LongPredicate predicate)
+        throws InterruptedException {
+        return parallel(threads, values.length, indexOfReduction(i -> predicate.test(values[i])));
+    }
+
+    /**
+     * Returns the index of the last element of the array matching the predicate.
+     *
+     * @param threads   number of concurrent threads
+     * @param values    array to look in
+     * @param predicate test predicate
+     * @return index of the last match or {@code -1} if there is none
+     * @throws InterruptedException if executing thread was interrupted
+     */
+    public int lastIndexOf(final int threads, final long[] values, final LongPredicate predicate)
+        throws InterruptedException {
+        return parallel(threads, values.length, lastIndexOfReduction(i -> predicate.test(values[i])));
+    }
+
+    /**
+     * Returns the sum of the array elements, overflowing as {@code long} addition does.
+     *
+     * @param threads number of concurrent threads
+     * @param values  array to sum
+     * @return sum of the elements
+     * @throws InterruptedException if executing thread was interrupted
+     */
+    public long sum(final int threads, final long[] values) throws InterruptedException {
+        return parallel(threads, values.length, range -> {
+            long sum = 0;
+            for (int i = range.from(); i < range.to(); i++) {
+                sum += values[i];
+            }
+            return sum;
+        }, results -> results.reduce(0L, Long::sum));
+    }
+
+    /**
+     * Returns the index of the first maximum of the array in {@link Double#compare(double, double)} order.
+     *
+     * @param threads number of concurrent threads
+     * @param values  array to look in
+     * @return index of the first greatest element
+     * @throws InterruptedException   if executing thread was interrupted
+     * @throws NoSuchElementException if array is empty
+     */
+    public int argMax(final int threads, final double[] values) throws InterruptedException {
+        return parallel(threads, values.length, argMaxReduction((i, j) -> Double.compare(values[i], values[j])));
+    }
+
+    /**
+     * Returns the index of the first minimum of the array in {@link Double#compare(double, double)} order.
+     *
+     * @param threads number of concurrent threads
+     * @param values  array to look in
+     * @return index of the first least element
+     * @throws InterruptedException   if executing thread was interrupted
+     * @throws NoSuchElementException if array is empty
+     */
+    public int argMin(final int threads, final double[] values) throws InterruptedException {
+        return parallel(threads, values.length, argMaxReduction((i, j) -> Double.compare(values[j], values[i])));
+    }
+
+    /**
+     * Returns the index of the first element of the array matching the predicate.
+     *
+     * @param threads   number of concurrent threads
+     * @param values    array to look in
+     * @param predicate test predicate
+     * @return index of the first match or {@code -1} if there is none
+     * @throws InterruptedException if executing thread was interrupted
+     */
+    public int indexOf(final int threads, final double[] values, final DoublePredicate predicate)
+        throws InterruptedException {
+        return parallel(threads, values.length, indexOfReduction(i -> predicate.test(values[i])));
+    }
+
+    /**
+     * Returns the index of the last element of the array matching the predicate.
+     *
+     * @param threads   number of concurrent threads
+     * @param values    array to look in
+     * @param predicate test predicate
+     * @return index of the last match or {@code -1} if there is none
+     * @throws InterruptedException if executing thread was interrupted
+     */
+    public int lastIndexOf(final int threads, final double[] values, final DoublePredicate predicate)
+        throws InterruptedException {
+        return parallel(threads, values.length, lastIndexOfReduction(i -> predicate.test(values[i])));
+    }
+
+    /**
+     * Returns the sum of the array elements.
+     * <p>
+     * Chunks are summed independently and then in order,
+     * so the rounding may differ from the sequential sum, but not between runs with the same {@code threads}.
+     *
+     * @param threads number of concurrent threads
+     * @param values  array to sum
+     * @return sum of the elements
+     * @throws InterruptedException if executing thread was interrupted
+     */
+    public double sum(final int threads, final double[] values) throws InterruptedException {
+        return parallel(threads, values.length, range -> {
+            double sum = 0;
+            for (int i = range.from(); i < range.to(); i++) {
+                sum += values[i];
+            }
+            return sum;
+        }, results -> results.reduce(0.0, Double::sum));
+    }
+
+    // === Chunks
+
+    /**
+     * Splits indices into up to {@value CHUNKS_PER_THREAD} chunks per thread,
+     * keeping them no shorter than {@value MIN_CHUNK_SIZE} elements unless there are fewer chunks than threads.
+     */
+    private static int chunkCount(final int threads, final int size) {
+        final int chunks = Math.clamp(size / MIN_CHUNK_SIZE, threads, threads * CHUNKS_PER_THREAD);
+        return Math.min(chunks, size);
+    }
+
+    private static List<Range> chunked(final int chunks, final int size) {
+        if (chunks == 0) {
+            return List.of();
+        }
+        final int chunkSize = size / chunks;
+        final int rem = size % chunks;
         return IntStream
-            .range(0, nChunks)
+            .range(0, chunks)
             .mapToObj(i -> {
                 final int start = i * chunkSize + Math.min(i, rem);
                 final int end = start + chunkSize + (i < rem ? 1 : 0);
-                return new OffsetList<>(values.subList(start, end), start);
-            });
+                return new Range(start, end);
+            })
+            .toList();
     }
 
-    private <T, A, R> R parallel(
+    /**
+     * Runs {@code chunkF} over the chunks of indices {@code [0, size)}.
+     * <p>
+     * Chunks are taken in order by the first free of {@code threads} workers,
+     * so the expensive ones do not leave others idle,
+     * and results are passed to {@code finalizer} in chunks order regardless of who computed them.
+     */
+    private <A, R> R parallel(
         final int threads,
-        final List<? extends T> values,
-        final Function<Stream<Indexed<T>>, ? extends A> chunkF,
+        final int size,
+        final Function<Range, ? extends A> chunkF,
         final Function<Stream<A>, ? extends R> finalizer
     ) throws InterruptedException {
-        final Stream<OffsetList<T>> chunks = chunked(threads, values);
-        final Function<OffsetList<T>, A> chunkFunction =
-            list -> chunkF.apply(
-                IntStream.range(0, list.view().size())
-                    .mapToObj(i -> new Indexed<>(list.view().get(i), list.offset() + i))
-            );
-        return parallelMapper == null
-            ? parallel(chunks, chunkFunction, finalizer)
-            : finalizer.apply(parallelMapper.map(chunkFunction, chunks.toList()).stream());
+        final List<Range> chunks = chunked(chunkCount(threads, size), size);
+        final Object[] results = new Object[chunks.size()];
+        final AtomicInteger next = new AtomicInteger();
+        final Runnable worker = () -> {
+            for (int chunk = next.getAndIncrement(); chunk < chunks.size(); chunk = next.getAndIncrement()) {
+                results[chunk] = chunkF.apply(chunks.get(chunk));
+            }
+        };
+        run(Math.min(threads, chunks.size()), worker);
+        @SuppressWarnings("unchecked") final Stream<A> stream = Arrays.stream(results).map(result -> (A) result);
+        return finalizer.apply(stream);
     }
 
-    private <T, A, R> R parallel(
-        final Stream<OffsetList<T>> chunks,
-        final Function<OffsetList<T>, A> chunkFunction,
-        final Function<Stream<A>, ? extends R> finalizer
+    private <A, R> R parallel(
+        final int threads,
+        final int size,
+        final Reduction<A, R> reduction
     ) throws InterruptedException {
-        final List<ThreadValue<A>> threadValues = chunks
-            .map(chunk -> new ThreadValue<>(() -> chunkFunction.apply(chunk)))
-            .toList();
-        ParallelUtils.join(
-            threadValues.stream()
-                .map(ThreadValue::thread)
-                .toList()
-        );
-        return finalizer.apply(threadValues.stream().map(ThreadValue::value));
+        return parallel(threads, size, reduction.chunk(), reduction.finalizer());
+    }
+
+    private void run(final int workers, final Runnable worker) throws InterruptedException {
+        if (parallelMapper == null) {
+            ParallelUtils.join(Stream.generate(() -> Thread.ofPlatform().start(worker)).limit(workers).toList());
+        } else {
+            parallelMapper.map(ignored -> {
+                worker.run();
+                return null;
+            }, Collections.nCopies(workers, null));
+        }
+    }
+
+    /**
+     * Creates {@link Query query} evaluating several operations over {@code values} in a single parallel pass.
+     *
+     * @param values list to query
+     * @param <T>    type of the list elements
+     * @return empty query
+     */
+    public <T> Query<T> query(final List<? extends T> values) {
+        return new Query<>(values);
     }
 
-    private record OffsetList<T>(List<? extends T> view, int offset) {
+    // === Fused queries
+
+    /**
+     * Set of {@link ScalarIP}-style operations over the same list.
+     * <p>
+     * Operations are registered first, then {@link #run(int)} computes all of them
+     * in one pass over the list: chunks are split into blocks of {@value QUERY_BLOCK_SIZE} elements,
+     * and all operations scan a block before moving to the next one,
+     * so the list is read from memory once whatever the number of operations.
+     *
+     * @param <T> type of the list elements
+     */
+    public final class Query<T> {
+        private final List<? extends T> values;
+        private final List<Supplier<Bound<?, ?>>> pending = new ArrayList<>();
+
+        private Query(final List<? extends T> values) {
+            this.values = values;
+        }
+
+        /**
+         * Registers {@link ScalarIP#argMax(int, List, Comparator) argMax} operation.
+         *
+         * @param comparator value comparator
+         * @return result available after {@link #run(int)}
+         */
+        public Result<Integer> argMax(final Comparator<? super T> comparator) {
+            return register(() -> argMaxReduction(compareAt(values, comparator)));
+        }
+
+        /**
+         * Registers {@link ScalarIP#argMin(int, List, Comparator) argMin} operation.
+         *
+         * @param comparator value comparator
+         * @return result available after {@link #run(int)}
+         */
+        public Result<Integer> argMin(final Comparator<? super T> comparator) {
+            return argMax(comparator.reversed());
+        }
+
+        /**
+         * Registers {@link ScalarIP#indexOf(int, List, Predicate) indexOf} operation.
+         *
+         * @param predicate test predicate
+         * @return result available after {@link #run(int)}
+         */
+        public Result<Integer> indexOf(final Predicate<? super T> predicate) {
+            return register(() -> indexOfReduction(matchesAt(values, predicate)));
+        }
+
+        /**
+         * Registers {@link ScalarIP#lastIndexOf(int, List, Predicate) lastIndexOf} operation.
+         *
+         * @param predicate test predicate
+         * @return result available after {@link #run(int)}
+         */
+        public Result<Integer> lastIndexOf(final Predicate<? super T> predicate) {
+            return register(() -> lastIndexOfReduction(matchesAt(values, predicate)));
+        }
+
+        /**
+         * Registers {@link ScalarIP#sumIndices(int, List, Predicate) sumIndices} operation.
+         *
+         * @param predicate test predicate
+         * @return result available after {@link #run(int)}
+         */
+        public Result<Long> sumIndices(final Predicate<? super T> predicate) {
+            return register(() -> sumIndicesReduction(matchesAt(values, predicate)));
+        }
+
+        private <R> Result<R> register(final Supplier<Reduction<?, R>> reduction) {
+            final Result<R> result = new Result<>();
+            pending.add(() -> new Bound<>(reduction.get(), result));
+            return result;
+        }
+
+        /**
+         * Computes all registered operations in one pass over the list.
+         * <p>
+         * Query may be run again, results are overwritten.
+         *
+         * @param threads number of concurrent threads
+         * @throws InterruptedException if executing thread was interrupted
+         */
+        public void run(final int threads) throws InterruptedException {
+            final List<Bound<?, ?>> operations = pending.stream().map(Supplier::get).toList();
+            // partial results of every block in list order, as if blocks were chunks
+            final List<Object[]> partials = parallel(
+                threads,
+                values.size(),
+                range -> blocks(range).stream()
+                    .map(block -> operations.stream()
+                        .map(operation -> operation.apply(block))
+                        .toArray())
+                    .toList(),
+                results -> results.flatMap(List::stream).toList()
+            );
+            for (int i = 0; i < operations.size(); i++) {
+                operations.get(i).complete(partials, i);
+            }
+        }
     }
 
-    private record Indexed<T>(T value, int index) {
+    private static List<Range> blocks(final Range range) {
+        final List<Range> blocks = new ArrayList<>();
+        for (int from = range.from(); from < range.to(); ) {
+            final int to = from + Math.min(QUERY_BLOCK_SIZE, range.to() - from);
+            blocks.add(new Range(from, to));
+            from = to;
+        }
+        return blocks;
     }
 
-    private static class ThreadValue<T> {
-        private final Thread thread;
-        private T value;
+    /**
+     * Result of the {@link Query query} operation.
+     *
+     * @param <R> type of the result
+     */
+    public static final class Result<R> {
+        private R value;
+        private boolean done;
 
-        private ThreadValue(final Supplier<? extends T> supplier) {
-            this.thread = Thread.ofPlatform().start(() -> this.value = supplier.get());
+        private Result() {
         }
 
-        private Thread thread() {
-            return thread;
+        private void set(final R value) {
+            this.value = value;
+            this.done = true;
         }
 
-        private T value() {
-            if (thread.isAlive()) {
-                throw new IllegalStateException("Thread (" + thread + ") is alive");
+        /**
+         * Returns computed result.
+         *
+         * @return result of the last {@link Query#run(int) run}
+         * @throws IllegalStateException if query was not run yet
+         */
+        public R get() {
+            if (!done) {
+                throw new IllegalStateException("Query was not run");
             }
             return value;
         }
     }
+
+    // reduction of the single query run with the place for its result
+    private record Bound<A, R>(Reduction<A, R> reduction, Result<R> result) {
+        private A apply(final Range range) {
+            return reduction.chunk().apply(range);
+        }
+
+        @SuppressWarnings("unchecked")
+        private void complete(final List<Object[]> partials, final int index) {
+            result.set(reduction.finalizer().apply(partials.stream().map(partial -> (A) partial[index])));
+        }
+    }
+
+    private record Reduction<A, R>(
+        Function<Range, ? extends A> chunk,
+        Function<Stream<A>, ? extends R> finalizer
+    ) {
+    }
+
+    // chunk of indices [from, to)
+    private record Range(int from, int to) {
+    }
+
+    @FunctionalInterface
+    private interface IndexComparator {
+        int compare(int i, int j);
+    }
 }
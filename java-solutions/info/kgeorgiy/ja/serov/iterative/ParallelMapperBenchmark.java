@@ -0,0 +1,85 @@
+package info.kgeorgiy.ja.serov.iterative;
+
+import info.kgeorgiy.java.advanced.mapper.ParallelMapper;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntFunction;
+import java.util.stream.IntStream;
+
+/**
+ * Throughput benchmark of {@link ParallelMapperImpl} task queues.
+ * <p>
+ * Many client threads concurrently run short {@link ParallelMapper#map map} calls
+ * with cheap functions, so the time is dominated by the task queue.
+ * Shared queue and work-stealing deques are compared on the same load.
+ * <p>
+ * Usage: {@code ParallelMapperBenchmark [workers [clients [calls [items]]]]}.
+ *
+ * @author alnmlbch
+ */
+public enum ParallelMapperBenchmark {
+    ;
+
+    private static final int ROUNDS = 5;
+
+    // keeps results reachable, so mappings are not eliminated
+    private static volatile long sink;
+
+    /** {@link ParallelMapperBenchmark Benchmark} launcher. */
+    public static void main(final String[] args) throws InterruptedException {
+        final int workers = argument(args, 0, Runtime.getRuntime().availableProcessors());
+        final int clients = argument(args, 1, 2 * workers);
+        final int calls = argument(args, 2, 2_000);
+        final int items = argument(args, 3, 64);
+
+        System.out.format(
+            "workers %d, clients %d, calls per client %d, items per call %d%n",
+            workers, clients, calls, items
+        );
+        for (int round = 0; round < ROUNDS; round++) {
+            run("shared", threads -> new ParallelMapperImpl(threads, false), workers, clients, calls, items);
+            run("stealing", threads -> new ParallelMapperImpl(threads, true), workers, clients, calls, items);
+        }
+    }
+
+    private static int argument(final String[] args, final int index, final int defaultValue) {
+        return args.length > index ? Integer.parseInt(args[index]) : defaultValue;
+    }
+
+    private static void run(
+        final String name,
+        final IntFunction<ParallelMapper> factory,
+        final int workers,
+        final int clients,
+        final int calls,
+        final int items
+    ) throws InterruptedException {
+        final List<Integer> values = IntStream.range(0, items).boxed().toList();
+        try (final ParallelMapper mapper = factory.apply(workers)) {
+            final List<Thread> threads = new ArrayList<>();
+            final long start = System.nanoTime();
+            for (int client = 0; client < clients; client++) {
+                threads.add(Thread.ofPlatform().start(() -> {
+                    long local = 0;
+                    try {
+                        for (int call = 0; call < calls; call++) {
+                            local += mapper.map(value -> value * 31 + 7, values).getLast();
+                        }
+                    } catch (final InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    sink += local;
+                }));
+            }
+            ParallelUtils.join(threads);
+            final long time = System.nanoTime() - start;
+            System.out.format(
+                "%-9s %10.1f ms %14.0f calls/s%n",
+                name,
+                time / 1e6,
+                (double) clients * calls / time * 1e9
+            );
+        }
+    }
+}
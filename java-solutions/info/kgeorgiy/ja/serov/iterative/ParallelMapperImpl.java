@@ -5,22 +5,34 @@ import info.kgeorgiy.java.advanced.mapper.ParallelMapper;
 import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Deque;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Function;
+import java.util.function.IntConsumer;
 import java.util.stream.IntStream;
 
 /**
- * {@link ParallelMapper Parallel mapper} simple implementation
- * no using {@link java.util.concurrent Concurrency Utilities}.
+ * {@link ParallelMapper Parallel mapper} simple implementation.
+ * <p>
+ * Workers and task queues are built on monitors without {@link java.util.concurrent Concurrency Utilities};
+ * only {@link #mapAsync(Function, List)} results are exposed as {@link CompletableFuture}.
  *
  * @author alnmlbch
  */
 public class ParallelMapperImpl implements ParallelMapper {
 
+    // several chunks per thread let fast threads pick up the rest of uneven calls
+    private static final int CHUNKS_PER_THREAD = 4;
+
     private final TaskQueue tasks;
     private final List<Thread> threads;
 
+    private final Set<MappingFuture<?>> outstanding = new HashSet<>();
+
     private volatile boolean closed = false;
 
     /**
@@ -28,16 +40,28 @@ public class ParallelMapperImpl implements ParallelMapper {
      * <p>
      * All {@code n} threads will be used
      * in next invocations {@link ParallelMapper#map(Function, List)}.
+     * Each thread has its own task deque and steals tasks from the others when it is empty.
      *
      * @param threads number of using threads
      */
     public ParallelMapperImpl(final int threads) {
-        this.tasks = new TaskQueue();
+        this(threads, true);
+    }
+
+    /**
+     * Creates new {@link ParallelMapperImpl} instance with the chosen task queue.
+     *
+     * @param threads      number of using threads
+     * @param workStealing whether to use per-thread deques with work stealing
+     *                     or a single shared queue
+     */
+    ParallelMapperImpl(final int threads, final boolean workStealing) {
+        this.tasks = workStealing ? new StealingTaskQueue(threads) : new SharedTaskQueue();
         this.threads = IntStream.range(0, threads)
-            .mapToObj(_ -> Thread.ofPlatform().start(() -> {
+            .mapToObj(worker -> Thread.ofPlatform().start(() -> {
                 while (!Thread.interrupted() && !closed) {
                     try {
-                        tasks.removeTask().run();
+                        tasks.removeTask(worker).run();
                     } catch (final InterruptedException _) {
                         // okay
                     }
@@ -51,28 +75,107 @@ public class ParallelMapperImpl implements ParallelMapper {
         final Function<? super T, ? extends R> f,
         final List<? extends T> items
     ) throws InterruptedException {
+        ensureOpen();
+        final List<R> results = new ArrayList<>(Collections.nCopies(items.size(), null));
+        final int chunks = chunks(items.size());
+        final Countdown countdown = new Countdown(chunks);
+        submit(f, items, results, chunks, countdown);
+        countdown.await();
+        return results;
+    }
+
+    /**
+     * Asynchronous version of {@link #map(Function, List)}.
+     * <p>
+     * Returned future is completed by the thread finishing the last chunk of items.
+     * Cancelling it removes chunks that are still queued, running ones are completed.
+     * Futures of the calls left unfinished by {@link #close()} are completed exceptionally
+     * with {@link IllegalStateException}.
+     *
+     * @param f     mapping function
+     * @param items items to map
+     * @param <T>   type of the items
+     * @param <R>   type of the results
+     * @return future of the mapped items list
+     * @throws IllegalStateException if mapper is closed
+     */
+    public <T, R> CompletableFuture<List<R>> mapAsync(
+        final Function<? super T, ? extends R> f,
+        final List<? extends T> items
+    ) {
+        ensureOpen();
+        final List<R> results = new ArrayList<>(Collections.nCopies(items.size(), null));
+        final int chunks = chunks(items.size());
+        final MappingFuture<R> future = new MappingFuture<>(results, chunks);
+        if (chunks == 0) {
+            future.complete(results);
+        } else {
+            register(future);
+            submit(f, items, results, chunks, future.countdown);
+        }
+        return future;
+    }
+
+    // checked under the same lock as close takes its snapshot, so no future is missed
+    private synchronized void register(final MappingFuture<?> future) {
+        ensureOpen();
+        outstanding.add(future);
+        future.whenComplete((_, _) -> unregister(future));
+    }
+
+    private synchronized void unregister(final MappingFuture<?> future) {
+        outstanding.remove(future);
+    }
+
+    private void ensureOpen() {
         if (closed) {
             throw new IllegalStateException("Mapper is closed");
         }
-        final List<R> results = new ArrayList<>(Collections.nCopies(items.size(), null));
-        final List<Task> localTasks = IntStream.range(0, items.size())
-            .mapToObj(i -> new Task(() -> results.set(i, f.apply(items.get(i)))))
-            .peek(tasks::addTask)
-            .toList();
-        for (final Task task : localTasks) {
-            task.tryComplete();
+    }
+
+    private int chunks(final int size) {
+        return Math.min(size, threads.size() * CHUNKS_PER_THREAD);
+    }
+
+    private <T, R> void submit(
+        final Function<? super T, ? extends R> f,
+        final List<? extends T> items,
+        final List<R> results,
+        final int chunks,
+        final Countdown countdown
+    ) {
+        // calls of different threads start at different deques instead of all piling onto the first one
+        final int first = (int) Thread.currentThread().threadId();
+        for (int chunk = 0; chunk < chunks; chunk++) {
+            tasks.addTask(
+                new Task(
+                    i -> results.set(i, f.apply(items.get(i))),
+                    chunkStart(chunk, chunks, items.size()),
+                    chunkStart(chunk + 1, chunks, items.size()),
+                    countdown
+                ),
+                first + chunk
+            );
         }
-        return results;
+    }
+
+    private static int chunkStart(final int chunk, final int chunks, final int size) {
+        return (int) ((long) size * chunk / chunks);
     }
 
     /**
      * Stops all threads.
      * <p>
-     * This is easy version that means all unfinished mappings are left in undefined state.
+     * This is easy version that means all unfinished mappings are left in undefined state,
+     * except for {@link #mapAsync(Function, List) asynchronous} ones, whose futures are completed exceptionally.
      */
     @Override
     public void close() {
-        closed = true;
+        final List<MappingFuture<?>> unfinished;
+        synchronized (this) {
+            closed = true;
+            unfinished = List.copyOf(outstanding);
+        }
         try {
             threads.forEach(Thread::interrupt);
             ParallelUtils.join(threads);
@@ -80,13 +183,56 @@ public class ParallelMapperImpl implements ParallelMapper {
             // joined but threw, okay
         }
         tasks.clear();
+        unfinished.forEach(future -> future.completeExceptionally(new IllegalStateException("Mapper is closed")));
+    }
+
+    private interface TaskQueue {
+
+        /**
+         * Waits for the next task for the given worker.
+         */
+        Task removeTask(int worker) throws InterruptedException;
+
+        /**
+         * Adds task, {@code hint} spreads tasks of one call between workers.
+         */
+        void addTask(Task task, int hint);
+
+        /**
+         * Removes queued tasks of the call counted by {@code countdown}.
+         */
+        void removeTasks(Countdown countdown);
+
+        void clear();
+    }
+
+    /**
+     * Future of {@link #mapAsync(Function, List)} call, cancellation withdraws its queued tasks.
+     */
+    private final class MappingFuture<R> extends CompletableFuture<List<R>> {
+
+        private final Countdown countdown;
+
+        private MappingFuture(final List<R> results, final int chunks) {
+            this.countdown = new Countdown(chunks, () -> complete(results));
+        }
+
+        @Override
+        public boolean cancel(final boolean mayInterruptIfRunning) {
+            final boolean cancelled = super.cancel(mayInterruptIfRunning);
+            if (cancelled) {
+                tasks.removeTasks(countdown);
+            }
+            return cancelled;
+        }
     }
 
-    private static class TaskQueue {
+    private static class SharedTaskQueue implements TaskQueue {
 
         private final Queue<Task> queue = new ArrayDeque<>();
 
-        private synchronized Task removeTask() throws InterruptedException {
+        @Override
+        public synchronized Task removeTask(final int worker) throws InterruptedException {
             while (queue.isEmpty()) {
                 wait();
             }
@@ -95,43 +241,146 @@ public class ParallelMapperImpl implements ParallelMapper {
             return task;
         }
 
-        private synchronized void addTask(final Task task) {
+        @Override
+        public synchronized void addTask(final Task task, final int hint) {
             queue.add(task);
             notify();
         }
 
-        private synchronized void clear() {
+        @Override
+        public synchronized void removeTasks(final Countdown countdown) {
+            queue.removeIf(task -> task.countdown == countdown);
+        }
+
+        @Override
+        public synchronized void clear() {
             queue.clear();
         }
     }
 
-    private static class Task {
+    /**
+     * Per-worker deques, each guarded by its own monitor.
+     * <p>
+     * Workers take tasks from the head of their own deque and steal from the tail of the others.
+     * Only workers that found no task at all meet on the {@code idle} monitor:
+     * a worker registers as idle before rechecking the deques,
+     * and an adder reads {@code idleWorkers} after publishing its task,
+     * so either the worker sees the task or the adder sees the worker.
+     */
+    private static class StealingTaskQueue implements TaskQueue {
 
-        private final Runnable task;
-        private boolean done;
+        private final List<Deque<Task>> deques;
+        private final Object idle = new Object();
+        private volatile int idleWorkers;
 
-        private Task(final Runnable task) {
-            this.task = task;
+        private StealingTaskQueue(final int workers) {
+            this.deques = IntStream.range(0, workers)
+                .<Deque<Task>>mapToObj(_ -> new ArrayDeque<>())
+                .toList();
         }
 
-        private synchronized void run() {
-            try {
-                task.run();
-            } catch (final RuntimeException e) {
-                System.err.format(
-                    "In thread %s task threw an exception: %s%n",
-                    Thread.currentThread().getName(),
-                    e.getMessage()
-                );
+        private Task poll(final int worker) {
+            final Deque<Task> own = deques.get(worker);
+            synchronized (own) {
+                if (!own.isEmpty()) {
+                    return own.pollFirst();
+                }
             }
-            done = true;
-            notify();
+            for (int i = 1; i < deques.size(); i++) {
+                final Deque<Task> victim = deques.get((worker + i) % deques.size());
+                synchronized (victim) {
+                    if (!victim.isEmpty()) {
+                        return victim.pollLast();
+                    }
+                }
+            }
+            return null;
         }
 
-        private synchronized void tryComplete() throws InterruptedException {
-            while (!done) {
-                wait();
+        @Override
+        public Task removeTask(final int worker) throws InterruptedException {
+            while (true) {
+                final Task task = poll(worker);
+                if (task != null) {
+                    return task;
+                }
+                synchronized (idle) {
+                    idleWorkers++;
+                    try {
+                        final Task recheck = poll(worker);
+                        if (recheck != null) {
+                            return recheck;
+                        }
+                        idle.wait();
+                    } finally {
+                        idleWorkers--;
+                    }
+                }
+            }
+        }
+
+        @Override
+        public void addTask(final Task task, final int hint) {
+            final Deque<Task> deque = deques.get(Math.floorMod(hint, deques.size()));
+            synchronized (deque) {
+                deque.addLast(task);
+            }
+            if (idleWorkers > 0) {
+                synchronized (idle) {
+                    idle.notify();
+                }
+            }
+        }
+
+        @Override
+        public void removeTasks(final Countdown countdown) {
+            for (final Deque<Task> deque : deques) {
+                synchronized (deque) {
+                    deque.removeIf(task -> task.countdown == countdown);
+                }
+            }
+        }
+
+        @Override
+        public void clear() {
+            for (final Deque<Task> deque : deques) {
+                synchronized (deque) {
+                    deque.clear();
+                }
+            }
+        }
+    }
+
+    /**
+     * Maps a range of items, elements failures are independent.
+     */
+    private static class Task {
+
+        private final IntConsumer action;
+        private final int from;
+        private final int to;
+        private final Countdown countdown;
+
+        private Task(final IntConsumer action, final int from, final int to, final Countdown countdown) {
+            this.action = action;
+            this.from = from;
+            this.to = to;
+            this.countdown = countdown;
+        }
+
+        private void run() {
+            try {
+                for (int i = from; i < to; i++) {
+                    try {
+                        action.accept(i);
+                    } catch (final RuntimeException e) {
+                        ParallelUtils.report(e);
+                    }
+                }
+            } finally {
+                countdown.countDown();
             }
         }
     }
+
 }
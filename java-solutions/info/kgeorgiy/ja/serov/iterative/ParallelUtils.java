@@ -37,4 +37,17 @@ public enum ParallelUtils {
             throw accumulatorE;
         }
     }
+
+    /**
+     * Reports exception thrown by a mapping task without stopping the worker.
+     *
+     * @param e thrown exception
+     */
+    public static void report(final RuntimeException e) {
+        System.err.format(
+            "In thread %s task threw an exception: %s%n",
+            Thread.currentThread().getName(),
+            e.getMessage()
+        );
+    }
 }
@@ -0,0 +1,159 @@
+package info.kgeorgiy.ja.serov.iterative;
+
+import info.kgeorgiy.java.advanced.mapper.ParallelMapper;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Semaphore;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+/**
+ * {@link ParallelMapper Parallel mapper} running on virtual threads.
+ * <p>
+ * Intended for blocking (I/O-bound) functions: every {@link #map(Function, List)} call
+ * starts up to {@code concurrency} virtual threads that take items one by one,
+ * so many blocking mappings may be in flight without as many platform threads.
+ * Items of all calls share {@code concurrency} permits, so concurrent callers
+ * never have more than {@code concurrency} mappings in flight together.
+ *
+ * @author alnmlbch
+ */
+public class VirtualParallelMapper implements ParallelMapper {
+
+    private final int concurrency;
+    private final Semaphore permits;
+    private final Set<Thread> running = new HashSet<>();
+    private final Set<Cursor> calls = new HashSet<>();
+
+    private boolean closed = false;
+
+    /**
+     * Creates new {@link VirtualParallelMapper} instance.
+     *
+     * @param concurrency maximal number of items mapped at the same time by all calls
+     */
+    public VirtualParallelMapper(final int concurrency) {
+        if (concurrency <= 0) {
+            throw new IllegalArgumentException("Concurrency should be positive: " + concurrency);
+        }
+        this.concurrency = concurrency;
+        this.permits = new Semaphore(concurrency);
+    }
+
+    @Override
+    public <T, R> List<R> map(
+        final Function<? super T, ? extends R> f,
+        final List<? extends T> items
+    ) throws InterruptedException {
+        final List<R> results = new ArrayList<>(Collections.nCopies(items.size(), null));
+        final Cursor cursor = new Cursor(items.size());
+        final Runnable worker = () -> {
+            try {
+                while (true) {
+                    permits.acquire();
+                    try {
+                        final int i = cursor.next();
+                        if (i < 0) {
+                            break;
+                        }
+                        results.set(i, f.apply(items.get(i)));
+                    } catch (final RuntimeException e) {
+                        ParallelUtils.report(e);
+                    } finally {
+                        permits.release();
+                    }
+                }
+            } catch (final InterruptedException _) {
+                // cancelled
+            }
+        };
+        final List<Thread> threads = start(cursor, Math.min(concurrency, items.size()), worker);
+        try {
+            for (final Thread thread : threads) {
+                thread.join();
+            }
+        } catch (final InterruptedException e) {
+            // no more items are taken, blocked mappings of the cancelled call are not waited for
+            cursor.cancel();
+            threads.forEach(Thread::interrupt);
+            throw e;
+        } finally {
+            finish(cursor);
+        }
+        return results;
+    }
+
+    private synchronized List<Thread> start(final Cursor cursor, final int workers, final Runnable worker) {
+        if (closed) {
+            throw new IllegalStateException("Mapper is closed");
+        }
+        calls.add(cursor);
+        final List<Thread> threads = IntStream.range(0, workers)
+            .mapToObj(_ -> Thread.ofVirtual().unstarted(() -> {
+                try {
+                    worker.run();
+                } finally {
+                    exit(Thread.currentThread());
+                }
+            }))
+            .toList();
+        running.addAll(threads);
+        threads.forEach(Thread::start);
+        return threads;
+    }
+
+    private synchronized void exit(final Thread thread) {
+        running.remove(thread);
+    }
+
+    private synchronized void finish(final Cursor cursor) {
+        calls.remove(cursor);
+    }
+
+    /**
+     * Cancels all running mappings and forbids new ones.
+     * <p>
+     * Items that are not taken yet are skipped and running ones are interrupted;
+     * waits until the mapping threads exit.
+     * Cancelled mappings return with unmapped items left {@code null}.
+     */
+    @Override
+    public void close() {
+        final List<Thread> threads;
+        synchronized (this) {
+            closed = true;
+            calls.forEach(Cursor::cancel);
+            threads = List.copyOf(running);
+        }
+        threads.forEach(Thread::interrupt);
+        try {
+            ParallelUtils.join(threads);
+        } catch (final InterruptedException e) {
+            // joined but threw, okay
+        }
+    }
+
+    // items of one call; unlike the interrupt flag, cancellation cannot be swallowed by the mapping function
+    private static class Cursor {
+        private final int size;
+        private int next;
+        private boolean cancelled;
+
+        private Cursor(final int size) {
+            this.size = size;
+        }
+
+        // next item index, -1 when all are taken or the call is cancelled
+        private synchronized int next() {
+            return !cancelled && next < size ? next++ : -1;
+        }
+
+        private synchronized void cancel() {
+            cancelled = true;
+        }
+    }
+}
@@ -0,0 +1,246 @@
+package info.kgeorgiy.ja.serov.student;
+
+import info.kgeorgiy.java.advanced.student.GroupName;
+import info.kgeorgiy.java.advanced.student.Student;
+import info.kgeorgiy.java.advanced.student.StudentQuery;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * {@link StudentQuery} decorator memoizing results
+ * per (collection identity, query, argument).
+ * <p>
+ * Intended for collections that are not modified while cached.
+ * The cache holds at most {@code maxSize} results, evicting the least recently used one,
+ * and references collections weakly, so results for collected collections are dropped.
+ * Cached lists, sets and maps are returned unmodifiable, as they are shared between callers.
+ */
+public class CachingStudentQuery implements StudentQuery {
+
+    private final StudentQuery query;
+    private final Map<Key, Object> cache;
+    private final ReferenceQueue<Object> collected = new ReferenceQueue<>();
+
+    private long hits;
+    private long misses;
+
+    /**
+     * Creates caching decorator.
+     *
+     * @param query   decorated query
+     * @param maxSize maximal number of cached results
+     */
+    public CachingStudentQuery(final StudentQuery query, final int maxSize) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("Cache size should be positive: " + maxSize);
+        }
+        this.query = query;
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<Key, Object> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    public synchronized long hits() {
+        return hits;
+    }
+
+    public synchronized long misses() {
+        return misses;
+    }
+
+    public synchronized int size() {
+        expunge();
+        return cache.size();
+    }
+
+    public synchronized void clear() {
+        expunge();
+        cache.clear();
+    }
+
+    private void expunge() {
+        for (Object key; (key = collected.poll()) != null; ) {
+            cache.remove(key);
+        }
+    }
+
+    private synchronized Object lookup(final Key key) {
+        expunge();
+        final Object value = cache.get(key);
+        if (value != null) {
+            hits++;
+        } else {
+            misses++;
+        }
+        return value;
+    }
+
+    private synchronized void store(final Key key, final Object value) {
+        cache.put(key, value);
+    }
+
+    // computed outside the lock, concurrent misses may compute the same result twice
+    @SuppressWarnings("unchecked")
+    private <R> R cached(
+        final Collection<Student> students,
+        final String method,
+        final Object argument,
+        final Supplier<R> supplier
+    ) {
+        final Object cachedValue = lookup(new Key(students, method, argument, null));
+        if (cachedValue != null) {
+            return (R) cachedValue;
+        }
+        final R value = supplier.get();
+        store(new Key(students, method, argument, collected), value);
+        return value;
+    }
+
+    private <E> List<E> cachedList(
+        final Collection<Student> students,
+        final String method,
+        final Object argument,
+        final Supplier<List<E>> supplier
+    ) {
+        return cached(students, method, argument, () -> Collections.unmodifiableList(supplier.get()));
+    }
+
+    @Override
+    public List<String> getFirstNames(final List<Student> students) {
+        return cachedList(students, "getFirstNames", null, () -> query.getFirstNames(students));
+    }
+
+    @Override
+    public List<String> getLastNames(final List<Student> students) {
+        return cachedList(students, "getLastNames", null, () -> query.getLastNames(students));
+    }
+
+    @Override
+    public List<GroupName> getGroupNames(final List<Student> students) {
+        return cachedList(students, "getGroupNames", null, () -> query.getGroupNames(students));
+    }
+
+    @Override
+    public List<String> getFullNames(final List<Student> students) {
+        return cachedList(students, "getFullNames", null, () -> query.getFullNames(students));
+    }
+
+    @Override
+    public Set<String> getDistinctFirstNames(final List<Student> students) {
+        return cached(
+            students,
+            "getDistinctFirstNames",
+            null,
+            () -> Collections.unmodifiableSet(query.getDistinctFirstNames(students))
+        );
+    }
+
+    @Override
+    public String getMaxStudentFirstName(final List<Student> students) {
+        return cached(students, "getMaxStudentFirstName", null, () -> query.getMaxStudentFirstName(students));
+    }
+
+    @Override
+    public List<Student> sortStudentsById(final Collection<Student> students) {
+        return cachedList(students, "sortStudentsById", null, () -> query.sortStudentsById(students));
+    }
+
+    @Override
+    public List<Student> sortStudentsByName(final Collection<Student> students) {
+        return cachedList(students, "sortStudentsByName", null, () -> query.sortStudentsByName(students));
+    }
+
+    @Override
+    public List<Student> findStudentsByFirstName(final Collection<Student> students, final String name) {
+        return cachedList(
+            students,
+            "findStudentsByFirstName",
+            name,
+            () -> query.findStudentsByFirstName(students, name)
+        );
+    }
+
+    @Override
+    public List<Student> findStudentsByLastName(final Collection<Student> students, final String name) {
+        return cachedList(
+            students,
+            "findStudentsByLastName",
+            name,
+            () -> query.findStudentsByLastName(students, name)
+        );
+    }
+
+    @Override
+    public List<Student> findStudentsByGroup(final Collection<Student> students, final GroupName group) {
+        return cachedList(
+            students,
+            "findStudentsByGroup",
+            group,
+            () -> query.findStudentsByGroup(students, group)
+        );
+    }
+
+    @Override
+    public Map<String, String> findStudentNamesByGroup(
+        final Collection<Student> students,
+        final GroupName group
+    ) {
+        return cached(
+            students,
+            "findStudentNamesByGroup",
+            group,
+            () -> Collections.unmodifiableMap(query.findStudentNamesByGroup(students, group))
+        );
+    }
+
+    // compares collections by identity; a collected key is only equal to itself
+    private static final class Key extends WeakReference<Object> {
+        private final String method;
+        private final Object argument;
+        private final int hash;
+
+        private Key(
+            final Object collection,
+            final String method,
+            final Object argument,
+            final ReferenceQueue<Object> queue
+        ) {
+            super(collection, queue);
+            this.method = method;
+            this.argument = argument;
+            this.hash = Objects.hash(System.identityHashCode(collection), method, argument);
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof final Key key)) {
+                return false;
+            }
+            final Object collection = get();
+            return collection != null
+                && collection == key.get()
+                && method.equals(key.method)
+                && Objects.equals(argument, key.argument);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
@@ -0,0 +1,238 @@
+package info.kgeorgiy.ja.serov.student;
+
+import info.kgeorgiy.java.advanced.student.GroupName;
+import info.kgeorgiy.java.advanced.student.Student;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.IntUnaryOperator;
+import java.util.function.Supplier;
+import java.util.stream.Collector;
+import java.util.stream.IntStream;
+
+/**
+ * Per-group aggregates computed in one pass over the students.
+ * <p>
+ * Only declared {@link Aggregate aggregates} are accumulated;
+ * group sizes are always available.
+ * Analytics may also be accumulated by {@link #collector(Aggregate...) collector}.
+ */
+public class GroupAnalytics {
+
+    private static final GroupName[] GROUPS = GroupName.values();
+
+    /**
+     * Aggregates that can be requested in addition to group sizes.
+     */
+    public enum Aggregate {
+        /** Number of distinct first names in each group. */
+        DISTINCT_FIRST_NAMES,
+        /** Number of distinct last names in each group. */
+        DISTINCT_LAST_NAMES,
+        /** Last name to the least first name map, as {@link StudentDB#findStudentNamesByGroup}. */
+        STUDENT_NAMES
+    }
+
+    private final Set<Aggregate> aggregates;
+    private final int[] sizes;
+    private final int[] firstNameCounts;
+    private final int[] lastNameCounts;
+    private final List<Map<String, String>> studentNames;
+
+    private GroupAnalytics(
+        final Set<Aggregate> aggregates,
+        final int[] sizes,
+        final int[] firstNameCounts,
+        final int[] lastNameCounts,
+        final List<Map<String, String>> studentNames
+    ) {
+        this.aggregates = aggregates;
+        this.sizes = sizes;
+        this.firstNameCounts = firstNameCounts;
+        this.lastNameCounts = lastNameCounts;
+        this.studentNames = studentNames;
+    }
+
+    /**
+     * Mutable state of the pass; name sets live only here and are reduced to counts by {@link #finish()}.
+     */
+    private static final class Accumulator {
+        private final Set<Aggregate> aggregates;
+        private final boolean firstNames;
+        private final boolean lastNames;
+        private final boolean names;
+
+        private final int[] sizes = new int[GROUPS.length];
+        private final List<Set<String>> firstNameSets;
+        private final List<Set<String>> lastNameSets;
+        private final List<Map<String, String>> studentNames;
+
+        private Accumulator(final Set<Aggregate> aggregates) {
+            this.aggregates = aggregates;
+            this.firstNames = aggregates.contains(Aggregate.DISTINCT_FIRST_NAMES);
+            this.lastNames = aggregates.contains(Aggregate.DISTINCT_LAST_NAMES);
+            this.names = aggregates.contains(Aggregate.STUDENT_NAMES);
+
+            this.firstNameSets = firstNames ? newPerGroup(HashSet::new) : List.of();
+            this.lastNameSets = lastNames ? newPerGroup(HashSet::new) : List.of();
+            this.studentNames = names ? newPerGroup(HashMap::new) : List.of();
+        }
+
+        private void accept(final Student student) {
+            final int group = student.groupName().ordinal();
+            sizes[group]++;
+            if (firstNames) {
+                firstNameSets.get(group).add(student.firstName());
+            }
+            if (lastNames) {
+                lastNameSets.get(group).add(student.lastName());
+            }
+            if (names) {
+                studentNames.get(group).merge(student.lastName(), student.firstName(), StudentDB.MIN_NAME);
+            }
+        }
+
+        private Accumulator combine(final Accumulator other) {
+            for (int group = 0; group < GROUPS.length; group++) {
+                sizes[group] += other.sizes[group];
+                if (firstNames) {
+                    firstNameSets.get(group).addAll(other.firstNameSets.get(group));
+                }
+                if (lastNames) {
+                    lastNameSets.get(group).addAll(other.lastNameSets.get(group));
+                }
+                if (names) {
+                    final Map<String, String> groupNames = studentNames.get(group);
+                    other.studentNames.get(group).forEach(
+                        (lastName, firstName) -> groupNames.merge(lastName, firstName, StudentDB.MIN_NAME)
+                    );
+                }
+            }
+            return this;
+        }
+
+        private GroupAnalytics finish() {
+            return new GroupAnalytics(
+                aggregates,
+                sizes,
+                counts(firstNameSets),
+                counts(lastNameSets),
+                studentNames.stream().map(Collections::unmodifiableMap).toList()
+            );
+        }
+    }
+
+    private static Set<Aggregate> declared(final Aggregate... aggregates) {
+        final Set<Aggregate> declared = EnumSet.noneOf(Aggregate.class);
+        declared.addAll(List.of(aggregates));
+        return declared;
+    }
+
+    /**
+     * Computes all given aggregates in a single pass.
+     *
+     * @param students   students to analyze
+     * @param aggregates aggregates to compute in addition to group sizes
+     * @return computed analytics
+     */
+    public static GroupAnalytics of(final Collection<Student> students, final Aggregate... aggregates) {
+        final Accumulator accumulator = new Accumulator(declared(aggregates));
+        students.forEach(accumulator::accept);
+        return accumulator.finish();
+    }
+
+    /**
+     * Returns collector computing given aggregates while students are produced,
+     * so they do not have to be collected first.
+     *
+     * @param aggregates aggregates to compute in addition to group sizes
+     * @return analytics collector
+     */
+    public static Collector<Student, ?, GroupAnalytics> collector(final Aggregate... aggregates) {
+        final Set<Aggregate> declared = declared(aggregates);
+        return Collector.of(
+            () -> new Accumulator(declared),
+            Accumulator::accept,
+            Accumulator::combine,
+            Accumulator::finish,
+            Collector.Characteristics.UNORDERED
+        );
+    }
+
+    private static <T> List<T> newPerGroup(final Supplier<T> factory) {
+        return IntStream.range(0, GROUPS.length).mapToObj(_ -> factory.get()).toList();
+    }
+
+    private static int[] counts(final List<? extends Set<String>> sets) {
+        return sets.stream().mapToInt(Set::size).toArray();
+    }
+
+    private int[] require(final Aggregate aggregate, final int[] values) {
+        if (!aggregates.contains(aggregate)) {
+            throw new IllegalStateException("Aggregate " + aggregate + " was not computed");
+        }
+        return values;
+    }
+
+    private Map<GroupName, Integer> perGroup(final int[] values) {
+        final Map<GroupName, Integer> result = new EnumMap<>(GroupName.class);
+        for (int group = 0; group < GROUPS.length; group++) {
+            if (sizes[group] > 0) {
+                result.put(GROUPS[group], values[group]);
+            }
+        }
+        return Collections.unmodifiableMap(result);
+    }
+
+    // group with the greatest value, ties are resolved to the greater group
+    private GroupName largest(final IntUnaryOperator value) {
+        int largest = -1;
+        for (int group = 0; group < GROUPS.length; group++) {
+            if (sizes[group] > 0 && (largest < 0 || value.applyAsInt(group) >= value.applyAsInt(largest))) {
+                largest = group;
+            }
+        }
+        return largest < 0 ? null : GROUPS[largest];
+    }
+
+    public Map<GroupName, Integer> groupSizes() {
+        return perGroup(sizes);
+    }
+
+    public Map<GroupName, Integer> distinctFirstNameCounts() {
+        return perGroup(require(Aggregate.DISTINCT_FIRST_NAMES, firstNameCounts));
+    }
+
+    public Map<GroupName, Integer> distinctLastNameCounts() {
+        return perGroup(require(Aggregate.DISTINCT_LAST_NAMES, lastNameCounts));
+    }
+
+    /**
+     * Returns group with the most students, {@code null} if there are no students.
+     */
+    public GroupName largestGroup() {
+        return largest(group -> sizes[group]);
+    }
+
+    /**
+     * Returns group with the most distinct first names, {@code null} if there are no students.
+     */
+    public GroupName largestGroupByFirstNames() {
+        final int[] counts = require(Aggregate.DISTINCT_FIRST_NAMES, firstNameCounts);
+        return largest(group -> counts[group]);
+    }
+
+    public Map<String, String> studentNames(final GroupName group) {
+        if (!aggregates.contains(Aggregate.STUDENT_NAMES)) {
+            throw new IllegalStateException("Aggregate " + Aggregate.STUDENT_NAMES + " was not computed");
+        }
+        return studentNames.get(group.ordinal());
+    }
+}
@@ -0,0 +1,209 @@
+package info.kgeorgiy.ja.serov.student;
+
+import info.kgeorgiy.java.advanced.student.GroupName;
+import info.kgeorgiy.java.advanced.student.Student;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.function.IntPredicate;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Column-oriented immutable student store.
+ * <p>
+ * Ids are kept in an {@code int[]}, names as codes into sorted dictionaries of distinct names
+ * and groups as {@link GroupName} ordinals. Because dictionaries are sorted, comparing codes
+ * is the same as comparing names, so queries work on {@code int} columns and create
+ * {@link Student} objects only for the returned rows.
+ * Student order is assumed to be the order of their ids.
+ */
+public class StudentColumns {
+
+    private static final GroupName[] GROUPS = GroupName.values();
+
+    private final int[] ids;
+    private final int[] firstNames;
+    private final int[] lastNames;
+    private final int[] groups;
+
+    private final String[] firstNameDictionary;
+    private final String[] lastNameDictionary;
+
+    public StudentColumns(final Collection<Student> students) {
+        final Student[] rows = students.toArray(Student[]::new);
+        this.ids = Arrays.stream(rows).mapToInt(Student::id).toArray();
+        this.groups = Arrays.stream(rows).mapToInt(student -> student.groupName().ordinal()).toArray();
+        this.firstNameDictionary = dictionary(rows, Student::firstName);
+        this.lastNameDictionary = dictionary(rows, Student::lastName);
+        this.firstNames = encode(rows, Student::firstName, firstNameDictionary);
+        this.lastNames = encode(rows, Student::lastName, lastNameDictionary);
+    }
+
+    private static String[] dictionary(final Student[] rows, final Function<Student, String> extractor) {
+        return Arrays.stream(rows)
+            .map(extractor)
+            .distinct()
+            .sorted()
+            .toArray(String[]::new);
+    }
+
+    private static int[] encode(
+        final Student[] rows,
+        final Function<Student, String> extractor,
+        final String[] dictionary
+    ) {
+        final Map<String, Integer> codes = new HashMap<>();
+        for (int i = 0; i < dictionary.length; i++) {
+            codes.put(dictionary[i], i);
+        }
+        return Arrays.stream(rows)
+            .map(extractor)
+            .mapToInt(codes::get)
+            .toArray();
+    }
+
+    private static int code(final String[] dictionary, final String name) {
+        return name == null ? -1 : Arrays.binarySearch(dictionary, name);
+    }
+
+    public int size() {
+        return ids.length;
+    }
+
+    private Student student(final int row) {
+        return new Student(
+            ids[row],
+            firstNameDictionary[firstNames[row]],
+            lastNameDictionary[lastNames[row]],
+            GROUPS[groups[row]]
+        );
+    }
+
+    private IntStream rows() {
+        return IntStream.range(0, size());
+    }
+
+    private <T> List<T> column(final IntFunction<? extends T> decoder) {
+        return rows().mapToObj(decoder).collect(Collectors.toUnmodifiableList());
+    }
+
+    private List<Student> gather(final int[] rows) {
+        return Arrays.stream(rows).mapToObj(this::student).toList();
+    }
+
+    // sorts rows[from, to) by id through (id, row) keys
+    private void sortById(final int[] rows, final int from, final int to) {
+        final long[] keys = new long[to - from];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = (long) ids[rows[from + i]] << 32 | rows[from + i];
+        }
+        Arrays.sort(keys);
+        for (int i = 0; i < keys.length; i++) {
+            rows[from + i] = (int) keys[i];
+        }
+    }
+
+    private List<Student> sortedById(final IntPredicate filter) {
+        final int[] selected = rows().filter(filter).toArray();
+        sortById(selected, 0, selected.length);
+        return gather(selected);
+    }
+
+    private List<Student> sortedByName(final IntPredicate filter) {
+        final int[] selected = rows().filter(filter).toArray();
+        final long[] names = new long[selected.length];
+        for (int i = 0; i < selected.length; i++) {
+            names[i] = (long) firstNames[selected[i]] << 32 | lastNames[selected[i]];
+        }
+        StudentSort.sortByNames(selected, names, this::sortById);
+        return gather(selected);
+    }
+
+    private static IntPredicate hasCode(final int[] column, final int code) {
+        return row -> column[row] == code;
+    }
+
+    public List<String> getFirstNames() {
+        return column(row -> firstNameDictionary[firstNames[row]]);
+    }
+
+    public List<String> getLastNames() {
+        return column(row -> lastNameDictionary[lastNames[row]]);
+    }
+
+    public List<GroupName> getGroupNames() {
+        return column(row -> GROUPS[groups[row]]);
+    }
+
+    public List<String> getFullNames() {
+        return column(row -> "%s %s".formatted(
+            firstNameDictionary[firstNames[row]],
+            lastNameDictionary[lastNames[row]]
+        ));
+    }
+
+    public Set<String> getDistinctFirstNames() {
+        final boolean[] present = new boolean[firstNameDictionary.length];
+        for (final int code : firstNames) {
+            present[code] = true;
+        }
+        return IntStream.range(0, present.length)
+            .filter(code -> present[code])
+            .mapToObj(code -> firstNameDictionary[code])
+            .collect(Collectors.toCollection(TreeSet::new));
+    }
+
+    public String getMaxStudentFirstName() {
+        int max = -1;
+        for (int row = 0; row < size(); row++) {
+            if (max < 0 || ids[row] > ids[max]) {
+                max = row;
+            }
+        }
+        return max < 0 ? "" : firstNameDictionary[firstNames[max]];
+    }
+
+    public List<Student> sortStudentsById() {
+        return sortedById(_ -> true);
+    }
+
+    public List<Student> sortStudentsByName() {
+        return sortedByName(_ -> true);
+    }
+
+    public List<Student> findStudentsByFirstName(final String name) {
+        final int code = code(firstNameDictionary, name);
+        return code < 0 ? List.of() : sortedByName(hasCode(firstNames, code));
+    }
+
+    public List<Student> findStudentsByLastName(final String name) {
+        final int code = code(lastNameDictionary, name);
+        return code < 0 ? List.of() : sortedByName(hasCode(lastNames, code));
+    }
+
+    public List<Student> findStudentsByGroup(final GroupName group) {
+        return group == null ? List.of() : sortedByName(hasCode(groups, group.ordinal()));
+    }
+
+    public Map<String, String> findStudentNamesByGroup(final GroupName group) {
+        if (group == null) {
+            return Map.of();
+        }
+        // the least first name has the least code
+        final Map<Integer, Integer> names = new HashMap<>();
+        rows().filter(hasCode(groups, group.ordinal()))
+            .forEach(row -> names.merge(lastNames[row], firstNames[row], Math::min));
+        return names.entrySet().stream().collect(Collectors.toMap(
+            entry -> lastNameDictionary[entry.getKey()],
+            entry -> firstNameDictionary[entry.getValue()]
+        ));
+    }
+}
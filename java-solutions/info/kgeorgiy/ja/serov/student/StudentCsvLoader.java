@@ -0,0 +1,138 @@
+package info.kgeorgiy.ja.serov.student;
+
+import info.kgeorgiy.java.advanced.student.GroupName;
+import info.kgeorgiy.java.advanced.student.Student;
+
+import java.io.IOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Collector;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Streaming loader of students from CSV files.
+ * <p>
+ * Each line is {@code id,firstName,lastName,group} without quoting, {@code group}
+ * is a {@link GroupName} constant. The file is memory-mapped and split into chunks
+ * on line boundaries that are parsed in parallel and passed straight to a {@link Collector},
+ * so the students are never collected into a list unless the collector does it.
+ *
+ * @see GroupAnalytics#collector(GroupAnalytics.Aggregate...)
+ */
+public enum StudentCsvLoader {
+    ;
+
+    private static final long MIN_CHUNK_SIZE = 1 << 20;
+    private static final int CHUNKS_PER_PROCESSOR = 4;
+    private static final byte NEW_LINE = '\n';
+
+    /**
+     * Parses all students of the file with the given collector.
+     *
+     * @param file      CSV file
+     * @param collector consumer of the parsed students; records of one chunk are
+     *                  accumulated in file order and chunks are combined in file order
+     * @param <R>       result type
+     * @return collector result
+     * @throws IOException              if the file cannot be read
+     * @throws IllegalArgumentException if some line is not a valid student record
+     */
+    public static <R> R load(
+        final Path file,
+        final Collector<? super Student, ?, R> collector
+    ) throws IOException {
+        try (
+            final Arena arena = Arena.ofShared();
+            final FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)
+        ) {
+            final MemorySegment segment = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size(), arena);
+            return chunks(segment).parallelStream()
+                .flatMap(chunk -> lines(segment, chunk))
+                .map(StudentCsvLoader::parse)
+                .collect(collector);
+        }
+    }
+
+    private static List<Chunk> chunks(final MemorySegment segment) {
+        final long size = segment.byteSize();
+        final int count = (int) Math.clamp(
+            size / MIN_CHUNK_SIZE,
+            1,
+            (long) Runtime.getRuntime().availableProcessors() * CHUNKS_PER_PROCESSOR
+        );
+        final List<Chunk> chunks = new ArrayList<>(count);
+        long from = 0;
+        for (int i = 1; i <= count && from < size; i++) {
+            final long to = i == count ? size : nextLine(segment, Math.max(from, size / count * i));
+            chunks.add(new Chunk(from, to));
+            from = to;
+        }
+        return chunks;
+    }
+
+    // position after the end of the line containing the given position
+    private static long nextLine(final MemorySegment segment, final long position) {
+        long current = position;
+        while (current < segment.byteSize() && segment.get(ValueLayout.JAVA_BYTE, current) != NEW_LINE) {
+            current++;
+        }
+        return Math.min(segment.byteSize(), current + 1);
+    }
+
+    private static Stream<String> lines(final MemorySegment segment, final Chunk chunk) {
+        return StreamSupport.stream(new Spliterators.AbstractSpliterator<>(
+            Long.MAX_VALUE,
+            Spliterator.ORDERED | Spliterator.NONNULL
+        ) {
+            private long position = chunk.from();
+
+            @Override
+            public boolean tryAdvance(final Consumer<? super String> action) {
+                while (position < chunk.to()) {
+                    final long start = position;
+                    position = Math.min(chunk.to(), nextLine(segment, start));
+                    final String line = new String(
+                        segment.asSlice(start, position - start).toArray(ValueLayout.JAVA_BYTE),
+                        StandardCharsets.UTF_8
+                    ).strip();
+                    if (!line.isEmpty()) {
+                        action.accept(line);
+                        return true;
+                    }
+                }
+                return false;
+            }
+        }, false);
+    }
+
+    private static Student parse(final String line) {
+        final String[] fields = line.split(",", -1);
+        if (fields.length != 4) {
+            throw new IllegalArgumentException("Expected 4 fields in student record: " + line);
+        }
+        try {
+            return new Student(
+                Integer.parseInt(fields[0].strip()),
+                fields[1].strip(),
+                fields[2].strip(),
+                GroupName.valueOf(fields[3].strip())
+            );
+        } catch (final IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid student record: " + line, e);
+        }
+    }
+
+    private record Chunk(long from, long to) {
+    }
+}
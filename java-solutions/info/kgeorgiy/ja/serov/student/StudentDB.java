@@ -4,34 +4,66 @@ import info.kgeorgiy.java.advanced.student.GroupName;
 import info.kgeorgiy.java.advanced.student.Student;
 import info.kgeorgiy.java.advanced.student.StudentQuery;
 
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.PriorityQueue;
 import java.util.Set;
 import java.util.TreeSet;
 import java.util.function.BinaryOperator;
 import java.util.function.Function;
+import java.util.function.Predicate;
 import java.util.stream.Collector;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 public class StudentDB implements StudentQuery {
 
     private static final String EMPTY_NAME = "";
-    private static final Comparator<Student> COMPARATOR = Student::compareTo;
+    static final Comparator<Student> COMPARATOR = Student::compareTo;
 
-    private static final Comparator<Student> FULL_COMPARATOR = Comparator
+    static final Comparator<Student> FULL_COMPARATOR = Comparator
         .comparing(Student::firstName)
         .thenComparing(Student::lastName)
         .thenComparing(COMPARATOR);
 
+    static final BinaryOperator<String> MIN_NAME = BinaryOperator.minBy(Comparator.naturalOrder());
+
+    // collections of at least this size are processed by parallel streams
+    private static final int DEFAULT_PARALLEL_THRESHOLD = 1 << 16;
+
+    private final int parallelThreshold;
+
+    public StudentDB() {
+        this(DEFAULT_PARALLEL_THRESHOLD);
+    }
+
+    /**
+     * Creates database that uses parallel streams for collections
+     * of at least {@code parallelThreshold} students.
+     * Results and their order are the same as in sequential mode.
+     *
+     * @param parallelThreshold minimal size of the parallel processed collection
+     */
+    public StudentDB(final int parallelThreshold) {
+        this.parallelThreshold = parallelThreshold;
+    }
+
+    private <T> Stream<T> stream(final Collection<T> collection) {
+        return collection.size() >= parallelThreshold
+            ? collection.parallelStream()
+            : collection.stream();
+    }
+
     private <T, U, R> R map(
         final Collection<? extends T> collection,
         final Function<? super T, ? extends U> mapper,
         final Collector<? super U, ?, R> collector
     ) {
-        return collection.stream()
+        return stream(collection)
             .map(mapper)
             .collect(collector);
     }
@@ -74,7 +106,7 @@ public class StudentDB implements StudentQuery {
 
     @Override
     public String getMaxStudentFirstName(final List<Student> students) {
-        return students.stream()
+        return stream(students)
             .max(COMPARATOR)
             .map(Student::firstName)
             .orElse(EMPTY_NAME);
@@ -84,7 +116,7 @@ public class StudentDB implements StudentQuery {
         final Collection<? extends T> collection,
         final Comparator<? super T> comparator
     ) {
-        return collection.stream()
+        return stream(collection)
             .sorted(comparator)
             .collect(Collectors.toUnmodifiableList());
     }
@@ -96,7 +128,14 @@ public class StudentDB implements StudentQuery {
 
     @Override
     public List<Student> sortStudentsByName(final Collection<Student> students) {
-        return sortBy(students, FULL_COMPARATOR);
+        return StudentSort.byName(students);
+    }
+
+    private <T> Predicate<Student> matching(
+        final T specifier,
+        final Function<Student, ? extends T> extractor
+    ) {
+        return student -> Objects.equals(extractor.apply(student), specifier);
     }
 
     private <T> List<Student> findStudentsBy(
@@ -104,13 +143,11 @@ public class StudentDB implements StudentQuery {
         final T specifier,
         final Function<Student, ? extends T> extractor
     ) {
-        return students.stream()
-            .filter(student -> Objects.equals(
-                extractor.apply(student),
-                specifier
-            ))
-            .sorted(FULL_COMPARATOR)
-            .toList();
+        return StudentSort.byName(
+            stream(students)
+                .filter(matching(specifier, extractor))
+                .toList()
+        );
     }
 
     @Override
@@ -142,12 +179,144 @@ public class StudentDB implements StudentQuery {
         final Collection<Student> students,
         final GroupName group
     ) {
-        return students.stream()
-            .filter(student -> student.groupName() == group)
-            .collect(Collectors.toMap(
-                Student::lastName,
-                Student::firstName,
-                BinaryOperator.minBy(Comparator.naturalOrder())
-            ));
+        final Stream<Student> filtered = stream(students)
+            .filter(student -> student.groupName() == group);
+        return filtered.isParallel()
+            ? filtered.collect(Collectors.toConcurrentMap(Student::lastName, Student::firstName, MIN_NAME))
+            : filtered.collect(Collectors.toMap(Student::lastName, Student::firstName, MIN_NAME));
+    }
+
+    // === Top-K and pages
+
+    /**
+     * Page of students in {@link #FULL_COMPARATOR} order.
+     *
+     * @param students students of this page
+     * @param cursor   last student of this page, {@code null} if there are no more students
+     * @param ties     number of students equal to the cursor returned by this and previous pages
+     */
+    public record Page(List<Student> students, Student cursor, int ties) {
+    }
+
+    private static void checkRange(final int offset, final int limit) {
+        if (offset < 0 || limit < 0) {
+            throw new IllegalArgumentException("Invalid page: offset %d, limit %d".formatted(offset, limit));
+        }
+    }
+
+    // limit of Integer.MAX_VALUE asks for all the remaining students
+    private static int saturatedSum(final int a, final int b) {
+        return (int) Math.min((long) a + b, Integer.MAX_VALUE);
+    }
+
+    // k least students by name with a bounded max-heap, O(n log k)
+    private static List<Student> smallestByName(final Stream<Student> students, final int k) {
+        if (k == 0) {
+            return List.of();
+        }
+        final PriorityQueue<Student> heap = new PriorityQueue<>(FULL_COMPARATOR.reversed());
+        students.forEach(student -> {
+            if (heap.size() < k) {
+                heap.add(student);
+            } else if (FULL_COMPARATOR.compare(student, heap.peek()) < 0) {
+                heap.poll();
+                heap.add(student);
+            }
+        });
+        final Student[] smallest = heap.toArray(Student[]::new);
+        Arrays.sort(smallest, FULL_COMPARATOR);
+        return List.of(smallest);
+    }
+
+    private static List<Student> sliceByName(
+        final Stream<Student> students,
+        final int offset,
+        final int limit
+    ) {
+        checkRange(offset, limit);
+        final List<Student> smallest = smallestByName(students, saturatedSum(offset, limit));
+        return smallest.subList(Math.min(offset, smallest.size()), smallest.size());
+    }
+
+    /**
+     * Returns at most {@code limit} students by name order, skipping the first {@code offset} ones.
+     */
+    public List<Student> sortStudentsByName(
+        final Collection<Student> students,
+        final int offset,
+        final int limit
+    ) {
+        return sliceByName(students.stream(), offset, limit);
+    }
+
+    public List<Student> findStudentsByFirstName(
+        final Collection<Student> students,
+        final String name,
+        final int offset,
+        final int limit
+    ) {
+        return sliceByName(students.stream().filter(matching(name, Student::firstName)), offset, limit);
+    }
+
+    public List<Student> findStudentsByLastName(
+        final Collection<Student> students,
+        final String name,
+        final int offset,
+        final int limit
+    ) {
+        return sliceByName(students.stream().filter(matching(name, Student::lastName)), offset, limit);
+    }
+
+    public List<Student> findStudentsByGroup(
+        final Collection<Student> students,
+        final GroupName group,
+        final int offset,
+        final int limit
+    ) {
+        return sliceByName(students.stream().filter(matching(group, Student::groupName)), offset, limit);
+    }
+
+    // skips ties students equal to after, which were returned by the previous pages
+    private static Page page(final Stream<Student> students, final int limit, final Student after, final int ties) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Page limit should be positive: " + limit);
+        }
+        final List<Student> smallest = smallestByName(students, saturatedSum(ties, limit));
+        final List<Student> page = smallest.subList(Math.min(ties, smallest.size()), smallest.size());
+        if (page.size() < limit) {
+            return new Page(page, null, 0);
+        }
+        final Student cursor = page.getLast();
+        int cursorTies = after != null && FULL_COMPARATOR.compare(cursor, after) == 0 ? ties : 0;
+        for (final Student student : page) {
+            if (FULL_COMPARATOR.compare(student, cursor) == 0) {
+                cursorTies++;
+            }
+        }
+        return new Page(page, cursor, cursorTies);
+    }
+
+    /**
+     * Returns first {@code limit} students by name order.
+     */
+    public Page firstPageByName(final Collection<Student> students, final int limit) {
+        return page(students.stream(), limit, null, 0);
+    }
+
+    /**
+     * Returns next {@code limit} students after the {@link Page#cursor() cursor} of the given page,
+     * without skipping the previous pages again.
+     */
+    public Page nextPageByName(final Collection<Student> students, final Page previous, final int limit) {
+        final Student cursor = previous.cursor();
+        if (cursor == null) {
+            return new Page(List.of(), null, 0);
+        }
+        return page(
+            students.stream().filter(student -> FULL_COMPARATOR.compare(student, cursor) >= 0),
+            limit,
+            cursor,
+            previous.ties()
+        );
     }
 }
@@ -0,0 +1,133 @@
+package info.kgeorgiy.ja.serov.student;
+
+import info.kgeorgiy.java.advanced.student.GroupName;
+import info.kgeorgiy.java.advanced.student.Student;
+import info.kgeorgiy.java.advanced.student.StudentQuery;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+/**
+ * Benchmark of {@link StudentQuery} methods of {@link StudentDB}.
+ * <p>
+ * Students are generated deterministically from a fixed seed for every size
+ * from {@value MIN_SIZE} up to the maximal one (first argument, {@value DEFAULT_MAX_SIZE} by default),
+ * with names drawn uniformly or with a heavily skewed (power law) distribution.
+ * Each query is warmed up and then run until both {@value MIN_ITERATIONS} iterations
+ * and {@value MIN_TIME_NANOS} ns are spent; average and best times are printed.
+ * <p>
+ * Usage: {@code StudentDBBenchmark [maxSize [queryQualifier]]}.
+ */
+public enum StudentDBBenchmark {
+    ;
+
+    private static final int MIN_SIZE = 1_000;
+    private static final int DEFAULT_MAX_SIZE = 1_000_000;
+    private static final long SEED = 2025;
+    private static final int NAMES = 10_000;
+    private static final int SKEW = 6;
+
+    private static final int WARMUP_ITERATIONS = 3;
+    private static final int MIN_ITERATIONS = 5;
+    private static final long MIN_TIME_NANOS = 1_000_000_000L;
+
+    // keeps results reachable, so queries are not eliminated
+    private static volatile int sink;
+
+    public static void main(final String[] args) {
+        final int maxSize = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_MAX_SIZE;
+        final String filter = args.length > 1 ? args[1] : "";
+        final StudentQuery db = new StudentDB();
+
+        System.out.format("%-26s %-8s %10s %14s %14s%n", "query", "names", "size", "avg ms/op", "best ms/op");
+        for (int size = MIN_SIZE; size <= maxSize; size *= 10) {
+            for (final Distribution distribution : Distribution.values()) {
+                final List<Student> students = generate(size, distribution);
+                final Student sample = students.get(size / 2);
+                final Map<String, Function<List<Student>, Object>> queries = Map.ofEntries(
+                    Map.entry("getFirstNames", db::getFirstNames),
+                    Map.entry("getLastNames", db::getLastNames),
+                    Map.entry("getGroupNames", db::getGroupNames),
+                    Map.entry("getFullNames", db::getFullNames),
+                    Map.entry("getDistinctFirstNames", db::getDistinctFirstNames),
+                    Map.entry("getMaxStudentFirstName", db::getMaxStudentFirstName),
+                    Map.entry("sortStudentsById", db::sortStudentsById),
+                    Map.entry("sortStudentsByName", db::sortStudentsByName),
+                    Map.entry("findStudentsByFirstName", s -> db.findStudentsByFirstName(s, sample.firstName())),
+                    Map.entry("findStudentsByLastName", s -> db.findStudentsByLastName(s, sample.lastName())),
+                    Map.entry("findStudentsByGroup", s -> db.findStudentsByGroup(s, sample.groupName())),
+                    Map.entry("findStudentNamesByGroup", s -> db.findStudentNamesByGroup(s, sample.groupName()))
+                );
+                queries.entrySet().stream()
+                    .filter(query -> query.getKey().contains(filter))
+                    .sorted(Map.Entry.comparingByKey())
+                    .forEach(query -> measure(query.getKey(), distribution, students, query.getValue()));
+            }
+        }
+    }
+
+    private static List<Student> generate(final int size, final Distribution distribution) {
+        final Random random = new Random(SEED);
+        final GroupName[] groups = GroupName.values();
+        return IntStream.range(0, size)
+            .mapToObj(_ -> new Student(
+                random.nextInt(size),
+                "First%05d".formatted(distribution.name(random)),
+                "Last%05d".formatted(distribution.name(random)),
+                groups[distribution.index(random, groups.length)]
+            ))
+            .toList();
+    }
+
+    private static void measure(
+        final String name,
+        final Distribution distribution,
+        final List<Student> students,
+        final Function<List<Student>, Object> query
+    ) {
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            sink += System.identityHashCode(query.apply(students));
+        }
+        long best = Long.MAX_VALUE;
+        long total = 0;
+        int iterations = 0;
+        while (iterations < MIN_ITERATIONS || total < MIN_TIME_NANOS) {
+            final long start = System.nanoTime();
+            final Object result = query.apply(students);
+            final long time = System.nanoTime() - start;
+            // consumed outside the timing, identity hash does not traverse the result
+            sink += System.identityHashCode(result);
+            best = Math.min(best, time);
+            total += time;
+            iterations++;
+        }
+        System.out.format(
+            "%-26s %-8s %10d %14.3f %14.3f%n",
+            name,
+            distribution.name().toLowerCase(),
+            students.size(),
+            total / 1e6 / iterations,
+            best / 1e6
+        );
+    }
+
+    private enum Distribution {
+        UNIFORM,
+        // index of the i-th most frequent value has probability of order i^(-1 + 1 / SKEW)
+        SKEWED;
+
+        private int index(final Random random, final int bound) {
+            return switch (this) {
+                case UNIFORM -> random.nextInt(bound);
+                case SKEWED -> (int) (bound * Math.pow(random.nextDouble(), SKEW));
+            };
+        }
+
+        private int name(final Random random) {
+            return index(random, NAMES);
+        }
+    }
+}
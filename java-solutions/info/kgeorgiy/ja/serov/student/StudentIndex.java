@@ -0,0 +1,56 @@
+package info.kgeorgiy.ja.serov.student;
+
+import info.kgeorgiy.java.advanced.student.GroupName;
+import info.kgeorgiy.java.advanced.student.Student;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+public class StudentIndex {
+
+    private final List<Student> byName;
+    private final Map<String, List<Student>> byFirstName;
+    private final Map<String, List<Student>> byLastName;
+    private final Map<GroupName, List<Student>> byGroup;
+
+    public StudentIndex(final Collection<Student> students) {
+        this.byName = StudentSort.byName(students);
+        this.byFirstName = index(byName, Student::firstName);
+        this.byLastName = index(byName, Student::lastName);
+        this.byGroup = index(byName, Student::groupName);
+    }
+
+    // buckets keep the order of the already sorted list
+    private static <K> Map<K, List<Student>> index(
+        final List<Student> sorted,
+        final Function<Student, ? extends K> extractor
+    ) {
+        return sorted.stream().collect(Collectors.groupingBy(
+            extractor,
+            Collectors.toUnmodifiableList()
+        ));
+    }
+
+    private static <K> List<Student> find(final Map<K, List<Student>> index, final K key) {
+        return index.getOrDefault(key, List.of());
+    }
+
+    public List<Student> sortStudentsByName() {
+        return byName;
+    }
+
+    public List<Student> findStudentsByFirstName(final String name) {
+        return find(byFirstName, name);
+    }
+
+    public List<Student> findStudentsByLastName(final String name) {
+        return find(byLastName, name);
+    }
+
+    public List<Student> findStudentsByGroup(final GroupName group) {
+        return find(byGroup, group);
+    }
+}
@@ -0,0 +1,146 @@
+package info.kgeorgiy.ja.serov.student;
+
+import info.kgeorgiy.java.advanced.student.Student;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.IntPredicate;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Type-ahead search over student names.
+ * <p>
+ * Distinct names are kept in a sorted array, so names with a given prefix form a range
+ * found by binary search. Names within one edit (insertion, deletion or substitution)
+ * are found through a map from every name with at most one character deleted.
+ * Results are in {@link StudentDB#FULL_COMPARATOR} order.
+ */
+public class StudentNameIndex {
+
+    private final NameField firstNames;
+    private final NameField lastNames;
+
+    public StudentNameIndex(final Collection<Student> students) {
+        final List<Student> sorted = StudentSort.byName(students);
+        // students sorted by name are also sorted inside first name ranges
+        this.firstNames = new NameField(sorted, Student::firstName, true);
+        this.lastNames = new NameField(sorted, Student::lastName, false);
+    }
+
+    public List<Student> findStudentsByFirstNamePrefix(final String prefix) {
+        return firstNames.findByPrefix(prefix);
+    }
+
+    public List<Student> findStudentsByLastNamePrefix(final String prefix) {
+        return lastNames.findByPrefix(prefix);
+    }
+
+    public List<Student> findStudentsByFirstNameFuzzy(final String name) {
+        return firstNames.findByFuzzyName(name);
+    }
+
+    public List<Student> findStudentsByLastNameFuzzy(final String name) {
+        return lastNames.findByFuzzyName(name);
+    }
+
+    private static List<String> deletions(final String name) {
+        final List<String> result = new ArrayList<>(name.length() + 1);
+        result.add(name);
+        for (int i = 0; i < name.length(); i++) {
+            result.add(name.substring(0, i) + name.substring(i + 1));
+        }
+        return result;
+    }
+
+    private static boolean withinOneEdit(final String a, final String b) {
+        final String shorter = a.length() <= b.length() ? a : b;
+        final String longer = a.length() <= b.length() ? b : a;
+        if (longer.length() - shorter.length() > 1) {
+            return false;
+        }
+        int prefix = 0;
+        while (prefix < shorter.length() && shorter.charAt(prefix) == longer.charAt(prefix)) {
+            prefix++;
+        }
+        final int skip = shorter.length() == longer.length() ? 1 : 0;
+        return shorter.regionMatches(
+            prefix + skip,
+            longer,
+            prefix + 1,
+            shorter.length() - prefix - skip
+        ) || prefix == shorter.length();
+    }
+
+    private static class NameField {
+        private final String[] names;
+        private final List<List<Student>> buckets;
+        private final Map<String, List<Integer>> deletions = new HashMap<>();
+        private final boolean sortedByField;
+
+        private NameField(
+            final List<Student> sorted,
+            final Function<Student, String> extractor,
+            final boolean sortedByField
+        ) {
+            final Map<String, List<Student>> byName = sorted.stream()
+                .collect(Collectors.groupingBy(extractor, Collectors.toUnmodifiableList()));
+            this.names = byName.keySet().stream().sorted().toArray(String[]::new);
+            this.buckets = Arrays.stream(names).map(byName::get).toList();
+            this.sortedByField = sortedByField;
+            for (int code = 0; code < names.length; code++) {
+                for (final String deletion : StudentNameIndex.deletions(names[code])) {
+                    deletions.computeIfAbsent(deletion, _ -> new ArrayList<>()).add(code);
+                }
+            }
+        }
+
+        // first index in [from, names.length) not matching the monotone predicate
+        private int lowerBound(final int from, final IntPredicate before) {
+            int lo = from;
+            int hi = names.length;
+            while (lo < hi) {
+                final int mid = (lo + hi) >>> 1;
+                if (before.test(mid)) {
+                    lo = mid + 1;
+                } else {
+                    hi = mid;
+                }
+            }
+            return lo;
+        }
+
+        private List<Student> collect(final IntStream codes) {
+            final List<Student> students = codes
+                .mapToObj(buckets::get)
+                .flatMap(List::stream)
+                .toList();
+            return sortedByField ? students : StudentSort.byName(students);
+        }
+
+        private List<Student> findByPrefix(final String prefix) {
+            final int from = lowerBound(0, code -> names[code].compareTo(prefix) < 0);
+            final int to = lowerBound(from, code -> names[code].startsWith(prefix));
+            return collect(IntStream.range(from, to));
+        }
+
+        private List<Student> findByFuzzyName(final String name) {
+            return collect(
+                StudentNameIndex.deletions(name).stream()
+                    .map(deletions::get)
+                    .filter(Objects::nonNull)
+                    .flatMap(List::stream)
+                    .mapToInt(Integer::intValue)
+                    .distinct()
+                    .filter(code -> withinOneEdit(names[code], name))
+                    .sorted()
+            );
+        }
+    }
+}
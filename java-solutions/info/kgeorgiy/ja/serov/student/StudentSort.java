@@ -0,0 +1,122 @@
+package info.kgeorgiy.ja.serov.student;
+
+import info.kgeorgiy.java.advanced.student.Student;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Sorting by {@link StudentDB#FULL_COMPARATOR} through precomputed primitive keys.
+ * <p>
+ * Each name is replaced with its rank among the distinct names once,
+ * (first, last) rank pairs are ranked again, and then a {@code long[]}
+ * of {@code pairRank << 32 | index} is sorted and gathered.
+ * Only students with equal full names are compared with {@link StudentDB#COMPARATOR}.
+ * The same {@link #sortByNames keyed sort} serves {@link StudentColumns}, whose name codes are already ranks.
+ */
+enum StudentSort {
+    ;
+
+    // below this size plain comparator sort is cheaper than building the keys
+    private static final int KEYED_SORT_THRESHOLD = 1 << 12;
+
+    static List<Student> byName(final Collection<Student> students) {
+        final Student[] source = students.toArray(Student[]::new);
+        final Student[] sorted = source.length < KEYED_SORT_THRESHOLD
+            ? sortByComparator(source)
+            : sortByKeys(source);
+        return Collections.unmodifiableList(Arrays.asList(sorted));
+    }
+
+    private static Student[] sortByComparator(final Student[] students) {
+        Arrays.sort(students, StudentDB.FULL_COMPARATOR);
+        return students;
+    }
+
+    private static Student[] sortByKeys(final Student[] students) {
+        final int[] firstRanks = ranks(students, Student::firstName);
+        final int[] lastRanks = ranks(students, Student::lastName);
+
+        final int[] rows = new int[students.length];
+        final long[] names = new long[students.length];
+        for (int i = 0; i < students.length; i++) {
+            rows[i] = i;
+            names[i] = (long) firstRanks[i] << 32 | lastRanks[i];
+        }
+        // runs of equal full names are short, only they are compared as objects
+        sortByNames(rows, names, (order, from, to) -> {
+            final Integer[] run = Arrays.stream(order, from, to).boxed().toArray(Integer[]::new);
+            Arrays.sort(run, Comparator.comparing(row -> students[row], StudentDB.COMPARATOR));
+            for (int i = 0; i < run.length; i++) {
+                order[from + i] = run[i];
+            }
+        });
+
+        final Student[] sorted = new Student[students.length];
+        for (int i = 0; i < rows.length; i++) {
+            sorted[i] = students[rows[i]];
+        }
+        return sorted;
+    }
+
+    /**
+     * Sorts rows of equal full names.
+     */
+    @FunctionalInterface
+    interface TieSorter {
+        void sort(int[] rows, int from, int to);
+    }
+
+    /**
+     * Sorts {@code rows} by name keys, {@code names[i]} being the key of {@code rows[i]}
+     * packed as {@code first << 32 | last} of order-preserving name codes.
+     * <p>
+     * Keys are ranked, {@code rank << 32 | position} pairs are sorted as {@code long}s,
+     * and then every run of equal names is passed to {@code ties}.
+     */
+    static void sortByNames(final int[] rows, final long[] names, final TieSorter ties) {
+        final long[] distinctNames = Arrays.stream(names).distinct().sorted().toArray();
+
+        final long[] keys = new long[rows.length];
+        for (int i = 0; i < rows.length; i++) {
+            keys[i] = (long) Arrays.binarySearch(distinctNames, names[i]) << 32 | i;
+        }
+        Arrays.sort(keys);
+
+        final int[] unsorted = rows.clone();
+        for (int i = 0; i < keys.length; i++) {
+            rows[i] = unsorted[(int) keys[i]];
+        }
+        int start = 0;
+        for (int i = 1; i <= keys.length; i++) {
+            if (i == keys.length || keys[i] >>> 32 != keys[start] >>> 32) {
+                if (i - start > 1) {
+                    ties.sort(rows, start, i);
+                }
+                start = i;
+            }
+        }
+    }
+
+    private static int[] ranks(final Student[] students, final Function<Student, String> extractor) {
+        final String[] names = Arrays.stream(students)
+            .map(extractor)
+            .distinct()
+            .sorted()
+            .toArray(String[]::new);
+        final Map<String, Integer> ranks = new HashMap<>();
+        for (int i = 0; i < names.length; i++) {
+            ranks.put(names[i], i);
+        }
+        return Arrays.stream(students)
+            .map(extractor)
+            .mapToInt(ranks::get)
+            .toArray();
+    }
+}